@@ -0,0 +1,70 @@
+package com.hooswhere.onboardFlow.models;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building an {@link EmailTemplateContext} and reading its variables back, both of which
+ * copy the variable map. Run with {@code -prof gc} to see the allocation rate of the copies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateContextBenchmark {
+
+    @Param({"7", "20", "50"})
+    public int variableCount;
+
+    private Map<String, Object> additionalVariables;
+    private EmailTemplateContext context;
+
+    @Setup
+    public void setUp() {
+        additionalVariables = new LinkedHashMap<>();
+        // customer() and workflow() add seven variables
+        for (int i = 7; i < variableCount; i++) {
+            additionalVariables.put("custom" + i, "value-" + i);
+        }
+        context = build();
+    }
+
+    @Benchmark
+    public EmailTemplateContext build() {
+        return EmailTemplateContext.builder()
+                .customer("Ada", "Lovelace", "ada@example.com", "Analytical Engines")
+                .workflow("onboarding-4f9c2a7e-1b3d-4c5e-9f8a-2d6b7c8e9f01", 3)
+                .putAll(additionalVariables)
+                .build();
+    }
+
+    @Benchmark
+    public Map<String, Object> getVariables() {
+        return context.getVariables();
+    }
+
+    @Benchmark
+    public Object get() {
+        return context.get("firstName");
+    }
+
+    @Benchmark
+    public Object getBySlot() {
+        return context.get(EmailTemplateContext.Variable.FIRST_NAME);
+    }
+}
@@ -0,0 +1,61 @@
+package com.hooswhere.onboardFlow.service;
+
+import com.hooswhere.onboardFlow.models.EmailTemplateContext;
+
+/**
+ * Inputs shared by the benchmarks, shaped like what the onboarding workflow renders.
+ */
+final class BenchmarkData {
+    private static final String FILLER = "<p>Your journey starts now. Let's get you set up and explore the features. </p>\n";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * A context with the customer and workflow variables plus extras up to {@code variableCount}.
+     */
+    static EmailTemplateContext context(int variableCount) {
+        EmailTemplateContext.Builder builder = EmailTemplateContext.builder()
+                .customer("Ada", "Lovelace", "ada@example.com", "Analytical Engines")
+                .workflow("onboarding-4f9c2a7e-1b3d-4c5e-9f8a-2d6b7c8e9f01", 3);
+        // customer() and workflow() add seven variables
+        for (int i = 7; i < variableCount; i++) {
+            builder.put("custom" + i, "value-" + i);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Roughly {@code length} characters of HTML with {@code placeholders} variables spread evenly,
+     * cycling through names the context built by {@link #context(int)} resolves.
+     */
+    static String template(int length, int placeholders, int variableCount) {
+        String[] names = variableNames(variableCount);
+        StringBuilder template = new StringBuilder(length + placeholders * 16);
+        int gap = placeholders > 0 ? Math.max(1, length / placeholders) : length;
+        int placed = 0;
+        while (template.length() < length || placed < placeholders) {
+            int chunkEnd = template.length() + gap;
+            while (template.length() < chunkEnd && template.length() < length) {
+                template.append(FILLER, 0, Math.min(FILLER.length(), chunkEnd - template.length()));
+            }
+            if (placed < placeholders) {
+                template.append("{{").append(names[placed % names.length]).append("}}");
+                placed++;
+            } else if (template.length() >= length) {
+                break;
+            }
+        }
+        return template.toString();
+    }
+
+    private static String[] variableNames(int variableCount) {
+        String[] base = {"firstName", "lastName", "email", "companyName", "fullName", "workflowId", "currentStep"};
+        String[] names = new String[Math.max(base.length, variableCount)];
+        System.arraycopy(base, 0, names, 0, base.length);
+        for (int i = base.length; i < names.length; i++) {
+            names[i] = "custom" + i;
+        }
+        return names;
+    }
+}
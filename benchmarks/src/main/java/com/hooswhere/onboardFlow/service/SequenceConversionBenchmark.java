@@ -0,0 +1,72 @@
+package com.hooswhere.onboardFlow.service;
+
+import com.hooswhere.onboardFlow.entity.EmailSequenceEntity;
+import com.hooswhere.onboardFlow.entity.EmailStepEntity;
+import com.hooswhere.onboardFlow.entity.EmailTemplateEntity;
+import com.hooswhere.onboardFlow.models.EmailSequenceConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link EmailSequenceService#convertToConfig}, which runs for every sequence load
+ * at workflow start, over sequences with as many steps as the defaults and well beyond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SequenceConversionBenchmark {
+
+    @Param({"6", "20", "100"})
+    public int stepCount;
+
+    private EmailSequenceEntity sequence;
+
+    @Setup
+    public void setUp() {
+        sequence = new EmailSequenceEntity();
+        sequence.setId(UUID.randomUUID());
+        sequence.setName("benchmark-sequence");
+        sequence.setDescription("Sequence with " + stepCount + " steps");
+        sequence.setActive(true);
+        sequence.setMaxDurationDays(45);
+
+        List<EmailStepEntity> steps = new ArrayList<>(stepCount);
+        for (int i = 1; i <= stepCount; i++) {
+            EmailTemplateEntity template = new EmailTemplateEntity();
+            template.setId(UUID.randomUUID());
+            template.setSlug("template-" + i);
+
+            EmailStepEntity step = new EmailStepEntity();
+            step.setId(UUID.randomUUID());
+            step.setSequence(sequence);
+            step.setStepOrder(i);
+            step.setEmailTemplate(template);
+            step.setDelayFromStartSeconds((i - 1) * 86_400);
+            step.setSendConditions(i == 1 ? List.of() : List.of("user_not_active", "user_not_converted"));
+            steps.add(step);
+        }
+        sequence.setSteps(steps);
+    }
+
+    @Benchmark
+    public EmailSequenceConfig convertToConfig() {
+        return EmailSequenceService.convertToConfig(sequence);
+    }
+}
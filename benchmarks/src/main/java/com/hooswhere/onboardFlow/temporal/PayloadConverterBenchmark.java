@@ -0,0 +1,111 @@
+package com.hooswhere.onboardFlow.temporal;
+
+import com.hooswhere.onboardFlow.OnboardingStatus;
+import com.hooswhere.onboardFlow.config.TemporalPayloadConfig;
+import com.hooswhere.onboardFlow.config.TemporalPayloadProps;
+import io.temporal.api.common.v1.Payloads;
+import io.temporal.common.converter.DataConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of the payloads the workflow writes most often, a progress update carrying
+ * the workflow metadata and an email event, under each payload encoding. {@link PayloadSizes} prints
+ * the encoded size of each, which is what a history event stores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadConverterBenchmark {
+    private static final UUID CUSTOMER_ID = UUID.fromString("4f9c2a7e-1b3d-4c5e-9f8a-2d6b7c8e9f01");
+    private static final UUID PROGRESS_ID = UUID.fromString("8a1d3c5e-7f9b-4d2a-b6c8-e0f1a2b3c4d5");
+    private static final String WORKFLOW_ID = "onboarding-" + CUSTOMER_ID + "-1760000000000";
+
+    @Param({"JSON", "SMILE"})
+    public TemporalPayloadProps.Encoding encoding;
+
+    @Param({"false", "true"})
+    public boolean compression;
+
+    @Param({"0", "20", "100"})
+    public int metadataEntries;
+
+    private DataConverter converter;
+    private ProgressUpdateInput progressUpdate;
+    private EmailEventInput emailEvent;
+    private Optional<Payloads> encodedProgressUpdate;
+    private Optional<Payloads> encodedEmailEvent;
+
+    @Setup
+    public void setUp() {
+        converter = converter(encoding, compression);
+        progressUpdate = progressUpdate(metadataEntries);
+        emailEvent = emailEvent(metadataEntries);
+        encodedProgressUpdate = encodeProgressUpdate();
+        encodedEmailEvent = encodeEmailEvent();
+    }
+
+    static DataConverter converter(TemporalPayloadProps.Encoding encoding, boolean compression) {
+        return new TemporalPayloadConfig().mainDataConverter(
+                new TemporalPayloadProps(encoding, compression, DataSize.ofKilobytes(1)));
+    }
+
+    static ProgressUpdateInput progressUpdate(int metadataEntries) {
+        LocalDateTime now = LocalDateTime.of(2025, 10, 9, 8, 53, 20);
+        return new ProgressUpdateInput(CUSTOMER_ID, PROGRESS_ID, WORKFLOW_ID, OnboardingStatus.IN_PROGRESS,
+                3, now, null, metadata(metadataEntries));
+    }
+
+    static EmailEventInput emailEvent(int metadataEntries) {
+        return new EmailEventInput(CUSTOMER_ID, PROGRESS_ID, WORKFLOW_ID, EmailEventInput.EVENT_SENT,
+                "feature-highlight", 3, metadata(metadataEntries));
+    }
+
+    private static Map<String, Object> metadata(int entries) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        for (int i = 0; i < entries; i++) {
+            metadata.put("attribute" + i, "value of attribute " + i + " from the signup form");
+        }
+        return metadata;
+    }
+
+    @Benchmark
+    public Optional<Payloads> encodeProgressUpdate() {
+        return converter.toPayloads(progressUpdate);
+    }
+
+    @Benchmark
+    public ProgressUpdateInput decodeProgressUpdate() {
+        return converter.fromPayloads(0, encodedProgressUpdate, ProgressUpdateInput.class, ProgressUpdateInput.class);
+    }
+
+    @Benchmark
+    public Optional<Payloads> encodeEmailEvent() {
+        return converter.toPayloads(emailEvent);
+    }
+
+    @Benchmark
+    public EmailEventInput decodeEmailEvent() {
+        return converter.fromPayloads(0, encodedEmailEvent, EmailEventInput.class, EmailEventInput.class);
+    }
+}
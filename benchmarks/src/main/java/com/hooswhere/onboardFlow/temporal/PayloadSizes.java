@@ -0,0 +1,29 @@
+package com.hooswhere.onboardFlow.temporal;
+
+import com.hooswhere.onboardFlow.config.TemporalPayloadProps;
+import io.temporal.common.converter.DataConverter;
+
+/**
+ * Prints the encoded size of the {@link PayloadConverterBenchmark} payloads for each of its
+ * parameter combinations. Kept out of the benchmark so the JMH output is not interleaved with it.
+ */
+public class PayloadSizes {
+
+    public static void main(String[] args) {
+        System.out.printf("%-8s %-12s %-10s %16s %12s%n",
+                "encoding", "compression", "metadata", "progress update", "email event");
+        for (TemporalPayloadProps.Encoding encoding : TemporalPayloadProps.Encoding.values()) {
+            for (boolean compression : new boolean[] {false, true}) {
+                DataConverter converter = PayloadConverterBenchmark.converter(encoding, compression);
+                for (int metadataEntries : new int[] {0, 20, 100}) {
+                    int progressUpdate = converter.toPayloads(PayloadConverterBenchmark.progressUpdate(metadataEntries))
+                            .orElseThrow().getSerializedSize();
+                    int emailEvent = converter.toPayloads(PayloadConverterBenchmark.emailEvent(metadataEntries))
+                            .orElseThrow().getSerializedSize();
+                    System.out.printf("%-8s %-12s %-10d %16d %12d%n",
+                            encoding, compression, metadataEntries, progressUpdate, emailEvent);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.hooswhere.onboardFlow.loadtest;
+
+import com.hooswhere.onboardFlow.OnboardFlowApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application with the {@code loadtest} profile, runs {@link LoadTestDriver} once the
+ * workers are polling, prints the report and exits.
+ */
+public class LoadTestApplication {
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(OnboardFlowApplication.class);
+        application.setAdditionalProfiles(LoadTestConfig.PROFILE);
+        ConfigurableApplicationContext context = application.run(args);
+        // run() returns after ApplicationReadyEvent, so workers are started and defaults are seeded
+        int exitCode = context.getBean(LoadTestDriver.class).run();
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
@@ -0,0 +1,33 @@
+package com.hooswhere.onboardFlow.loadtest;
+
+import com.hooswhere.onboardFlow.repository.CustomerRepository;
+import com.hooswhere.onboardFlow.repository.OnboardingProgressRepository;
+import com.hooswhere.onboardFlow.service.EmailSequenceService;
+import com.hooswhere.onboardFlow.temporal.OnboardingStarter;
+import io.temporal.client.WorkflowClient;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile(LoadTestConfig.PROFILE)
+@EnableConfigurationProperties(LoadTestProps.class)
+public class LoadTestConfig {
+    public static final String PROFILE = "loadtest";
+
+    // Started with the context, before the SES client can send to it
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public SesStub sesStub(LoadTestProps props) {
+        return new SesStub(props.sesStubPort(), props.sesLatency());
+    }
+
+    @Bean
+    public LoadTestDriver loadTestDriver(LoadTestProps props, SesStub sesStub, OnboardingStarter onboardingStarter,
+                                         EmailSequenceService emailSequenceService, CustomerRepository customerRepository,
+                                         OnboardingProgressRepository onboardingProgressRepository,
+                                         WorkflowClient workflowClient) {
+        return new LoadTestDriver(props, sesStub, onboardingStarter, emailSequenceService, customerRepository,
+                onboardingProgressRepository, workflowClient);
+    }
+}
@@ -0,0 +1,225 @@
+package com.hooswhere.onboardFlow.loadtest;
+
+import com.hooswhere.onboardFlow.OnboardingStatus;
+import com.hooswhere.onboardFlow.entity.CustomerEntity;
+import com.hooswhere.onboardFlow.entity.OnboardingProgressEntity;
+import com.hooswhere.onboardFlow.models.CustomerRequest;
+import com.hooswhere.onboardFlow.models.EmailSequenceConfig;
+import com.hooswhere.onboardFlow.models.StartOnboardingRequest;
+import com.hooswhere.onboardFlow.repository.CustomerRepository;
+import com.hooswhere.onboardFlow.repository.OnboardingProgressRepository;
+import com.hooswhere.onboardFlow.service.EmailSequenceService;
+import com.hooswhere.onboardFlow.temporal.OnboardingStarter;
+import io.temporal.client.WorkflowClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts {@code loadtest.workflows} onboardings through {@link OnboardingStarter}, waits for every
+ * workflow to finish and reports throughput, step latency and SES calls.
+ */
+public class LoadTestDriver {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestDriver.class);
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    private final LoadTestProps props;
+    private final SesStub sesStub;
+    private final OnboardingStarter onboardingStarter;
+    private final EmailSequenceService emailSequenceService;
+    private final CustomerRepository customerRepository;
+    private final OnboardingProgressRepository onboardingProgressRepository;
+    private final WorkflowClient workflowClient;
+
+    public LoadTestDriver(LoadTestProps props, SesStub sesStub, OnboardingStarter onboardingStarter,
+                          EmailSequenceService emailSequenceService, CustomerRepository customerRepository,
+                          OnboardingProgressRepository onboardingProgressRepository, WorkflowClient workflowClient) {
+        this.props = props;
+        this.sesStub = sesStub;
+        this.onboardingStarter = onboardingStarter;
+        this.emailSequenceService = emailSequenceService;
+        this.customerRepository = customerRepository;
+        this.onboardingProgressRepository = onboardingProgressRepository;
+        this.workflowClient = workflowClient;
+    }
+
+    /**
+     * Run the load test and log the report. Returns the process exit code: non-zero when a
+     * workflow failed to start, failed or did not finish within {@code loadtest.timeout}.
+     */
+    public int run() {
+        EmailSequenceConfig sequence = emailSequenceService.getSequenceByName(props.sequence())
+                .orElseThrow(() -> new IllegalStateException("Sequence not found: " + props.sequence()));
+        // Customer emails must be unique per run, otherwise starts fail as already onboarding
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        logger.info("Load test {}: starting {} workflows of {} with {} threads",
+                runId, props.workflows(), sequence.name(), props.concurrency());
+
+        Map<String, Long> startedNanosByEmail = new ConcurrentHashMap<>();
+        AtomicInteger startFailures = new AtomicInteger();
+        long runStartedNanos = System.nanoTime();
+        ExecutorService starters = Executors.newFixedThreadPool(props.concurrency());
+        for (int i = 0; i < props.workflows(); i++) {
+            String email = "load-" + runId + "-" + i + "@example.com";
+            String lastName = "Tester " + i;
+            starters.execute(() -> {
+                try {
+                    onboardingStarter.startOnboardingWorkflow(new StartOnboardingRequest(
+                            new CustomerRequest(email, "Load", lastName, "Load Test Co", null, Map.of()),
+                            sequence.id().toString(),
+                            Map.of()));
+                    startedNanosByEmail.put(email, System.nanoTime());
+                } catch (Exception e) {
+                    startFailures.incrementAndGet();
+                    logger.warn("Failed to start onboarding for {}", email, e);
+                }
+            });
+        }
+        starters.shutdown();
+        awaitStarters(starters);
+        long startsDoneNanos = System.nanoTime();
+
+        Map<String, Long> startedNanosByWorkflow = resolveWorkflowIds(startedNanosByEmail);
+        AtomicInteger failed = new AtomicInteger();
+        AtomicLong lastCompletedNanos = new AtomicLong(startsDoneNanos);
+        // Waiting on results is what lets the test server skip time over the sequence delays
+        CompletableFuture<?>[] results = startedNanosByWorkflow.keySet().stream()
+                .map(workflowId -> workflowClient.newUntypedWorkflowStub(workflowId)
+                        .getResultAsync(Void.class)
+                        .whenComplete((result, error) -> {
+                            lastCompletedNanos.accumulateAndGet(System.nanoTime(), Math::max);
+                            if (error != null) {
+                                failed.incrementAndGet();
+                                logger.warn("Workflow {} failed", workflowId, error);
+                            }
+                        }))
+                .toArray(CompletableFuture[]::new);
+
+        boolean timedOut = false;
+        try {
+            CompletableFuture.allOf(results).get(props.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOut = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            timedOut = true;
+        } catch (Exception e) {
+            // Failed workflows are counted in whenComplete
+        }
+        long completed = Arrays.stream(results).filter(CompletableFuture::isDone).count() - failed.get();
+
+        report(runStartedNanos, startsDoneNanos, lastCompletedNanos.get(), startedNanosByWorkflow,
+                startFailures.get(), completed, failed.get(), timedOut);
+        return startFailures.get() == 0 && failed.get() == 0 && !timedOut ? 0 : 1;
+    }
+
+    private void awaitStarters(ExecutorService starters) {
+        try {
+            if (!starters.awaitTermination(props.timeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                starters.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            starters.shutdownNow();
+        }
+    }
+
+    /**
+     * Map each started customer to the id of its workflow, which the starter generates.
+     */
+    private Map<String, Long> resolveWorkflowIds(Map<String, Long> startedNanosByEmail) {
+        Map<UUID, Long> startedNanosByCustomer = new HashMap<>();
+        startedNanosByEmail.forEach((email, nanos) -> customerRepository.findByEmail(email)
+                .map(CustomerEntity::getId)
+                .ifPresent(id -> startedNanosByCustomer.put(id, nanos)));
+
+        Map<String, Long> startedNanosByWorkflow = new HashMap<>();
+        List<UUID> customerIds = new ArrayList<>(startedNanosByCustomer.keySet());
+        for (int from = 0; from < customerIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<UUID> chunk = customerIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, customerIds.size()));
+            for (OnboardingProgressEntity progress : onboardingProgressRepository
+                    .findByCustomerIdInAndStatusIn(chunk, EnumSet.allOf(OnboardingStatus.class))) {
+                startedNanosByWorkflow.put(progress.getWorkflowId(), startedNanosByCustomer.get(progress.getCustomerId()));
+            }
+        }
+        return startedNanosByWorkflow;
+    }
+
+    private void report(long runStartedNanos, long startsDoneNanos, long lastCompletedNanos,
+                        Map<String, Long> startedNanosByWorkflow, int startFailures, long completed, long failed,
+                        boolean timedOut) {
+        List<Long> firstStepMillis = new ArrayList<>();
+        List<Long> laterStepMillis = new ArrayList<>();
+        Map<Integer, Integer> callsByStep = new TreeMap<>();
+        startedNanosByWorkflow.forEach((workflowId, startedNanos) -> {
+            List<SesStub.Send> sends = sesStub.sendsByWorkflow().getOrDefault(workflowId, List.of());
+            List<SesStub.Send> ordered;
+            synchronized (sends) {
+                ordered = new ArrayList<>(sends);
+            }
+            ordered.sort((a, b) -> Long.compare(a.receivedNanos(), b.receivedNanos()));
+            // The first email measures start to SES; later ones include waiting for the test server
+            // to skip time, which it does only once no activity of any workflow is running
+            long previousNanos = startedNanos;
+            for (SesStub.Send send : ordered) {
+                long millis = TimeUnit.NANOSECONDS.toMillis(send.receivedNanos() - previousNanos);
+                (send == ordered.get(0) ? firstStepMillis : laterStepMillis).add(millis);
+                callsByStep.merge(send.stepNumber(), 1, Integer::sum);
+                previousNanos = send.receivedNanos();
+            }
+        });
+
+        double startSeconds = (startsDoneNanos - runStartedNanos) / 1e9;
+        double totalSeconds = (lastCompletedNanos - runStartedNanos) / 1e9;
+        logger.info("""
+                        Load test report
+                          workflows started:    {} ({} failed to start) in {} s, {} starts/s
+                          workflows completed:  {} ({} failed{}) in {} s, {} workflows/s
+                          first email latency:  {}
+                          later step latency:   {}
+                          SES calls:            {} total, {} rejected, by step {}""",
+                startedNanosByWorkflow.size(), startFailures, format(startSeconds),
+                format(startedNanosByWorkflow.size() / startSeconds),
+                completed, failed, timedOut ? ", timed out waiting for the rest" : "", format(totalSeconds),
+                format(completed / totalSeconds),
+                percentiles(firstStepMillis), percentiles(laterStepMillis),
+                sesStub.calls(), sesStub.rejected(), callsByStep);
+    }
+
+    /**
+     * p50, p90, p99 and max in milliseconds, by nearest rank.
+     */
+    private static String percentiles(List<Long> millis) {
+        if (millis.isEmpty()) {
+            return "no samples";
+        }
+        long[] sorted = millis.stream().mapToLong(Long::longValue).sorted().toArray();
+        return "p50 " + rank(sorted, 0.50) + " ms, p90 " + rank(sorted, 0.90) + " ms, p99 " + rank(sorted, 0.99)
+                + " ms, max " + sorted[sorted.length - 1] + " ms (" + sorted.length + " samples)";
+    }
+
+    private static long rank(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+}
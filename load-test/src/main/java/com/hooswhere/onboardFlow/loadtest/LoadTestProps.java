@@ -0,0 +1,22 @@
+package com.hooswhere.onboardFlow.loadtest;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "loadtest")
+@Validated
+public record LoadTestProps(
+        @Min(1) @DefaultValue("500") int workflows,
+        @Min(1) @DefaultValue("16") int concurrency,
+        // Name of the sequence every workflow runs
+        @NotEmpty @DefaultValue("default-saas-sequence") String sequence,
+        @Min(1) @DefaultValue("4599") int sesStubPort,
+        @DefaultValue("50ms") Duration sesLatency,
+        // How long to wait for all workflows to finish before reporting
+        @DefaultValue("10m") Duration timeout
+) {}
@@ -0,0 +1,133 @@
+package com.hooswhere.onboardFlow.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the SES v2 {@code SendEmail} API ({@code POST /v2/email/outbound-emails}).
+ * Answers every request with a new message id after a fixed latency, and records when each
+ * workflow step was sent using the {@code workflowId} and {@code stepNumber} email tags.
+ */
+public class SesStub {
+    private static final Logger logger = LoggerFactory.getLogger(SesStub.class);
+    private static final String SEND_EMAIL_PATH = "/v2/email/outbound-emails";
+
+    /**
+     * One accepted SendEmail call.
+     */
+    public record Send(int stepNumber, long receivedNanos) {}
+
+    private final int port;
+    private final Duration latency;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final Map<String, List<Send>> sendsByWorkflow = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public SesStub(int port, Duration latency) {
+        this.port = port;
+        this.latency = latency;
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        // Each call sleeps for the latency, which costs a virtual thread nothing
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("SES stub listening on port {} with {} ms latency", port, latency.toMillis());
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    public long calls() {
+        return calls.get();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    public Map<String, List<Send>> sendsByWorkflow() {
+        return sendsByWorkflow;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod()) || !SEND_EMAIL_PATH.equals(exchange.getRequestURI().getPath())) {
+                rejected.incrementAndGet();
+                respond(exchange, 404, "{\"message\":\"Not supported by the SES stub\"}");
+                return;
+            }
+            long receivedNanos = System.nanoTime();
+            calls.incrementAndGet();
+            record(exchange.getRequestBody(), receivedNanos);
+            sleep();
+            respond(exchange, 200, "{\"MessageId\":\"" + UUID.randomUUID() + "\"}");
+        }
+    }
+
+    private void record(InputStream body, long receivedNanos) throws IOException {
+        String workflowId = null;
+        int stepNumber = 0;
+        for (JsonNode tag : objectMapper.readTree(body).path("EmailTags")) {
+            switch (tag.path("Name").asText()) {
+                case "workflowId" -> workflowId = tag.path("Value").asText();
+                case "stepNumber" -> stepNumber = tag.path("Value").asInt();
+                default -> { }
+            }
+        }
+        if (workflowId != null) {
+            List<Send> sends = sendsByWorkflow.computeIfAbsent(workflowId, id -> new ArrayList<>());
+            synchronized (sends) {
+                sends.add(new Send(stepNumber, receivedNanos));
+            }
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] response = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("x-amzn-RequestId", UUID.randomUUID().toString());
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+}
@@ -6,18 +6,23 @@ import com.hooswhere.onboardFlow.models.SequenceListResponse;
 import com.hooswhere.onboardFlow.models.SequenceResponse;
 import com.hooswhere.onboardFlow.models.StepResponse;
 import com.hooswhere.onboardFlow.models.UpdateSequenceRequest;
+import com.hooswhere.onboardFlow.models.ListView;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import java.util.List;
 
 /**
@@ -38,11 +43,24 @@ public interface EmailSequenceApi {
         @Valid @RequestBody CreateSequenceRequest request
     );
 
-    @Operation(summary = "List all email sequences")
-    @ApiResponse(responseCode = "200", description = "List of sequences",
-        content = @Content(schema = @Schema(implementation = SequenceListResponse.class)))
+    @Operation(summary = "List email sequences",
+        description = "Newest first, paginated by cursor. Pass nextCursor back as cursor to fetch the following page.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of sequences",
+            content = @Content(schema = @Schema(implementation = SequenceListResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag sent in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
     @RequestMapping(method = RequestMethod.GET, produces = "application/json")
-    ResponseEntity<SequenceListResponse> listSequences();
+    ResponseEntity<SequenceListResponse> listSequences(
+        @Parameter(description = "Maximum number of sequences to return, capped at 500")
+        @RequestParam(name = "limit", defaultValue = "100") int limit,
+        @Parameter(description = "nextCursor from the previous page")
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @Parameter(description = "SUMMARY leaves out steps")
+        @RequestParam(name = "view", defaultValue = "FULL") ListView view,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    );
 
     @Operation(summary = "Get an email sequence by ID")
     @ApiResponses({
@@ -1,7 +1,12 @@
 package com.hooswhere.onboardFlow.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hooswhere.onboardFlow.config.Roles;
 import com.hooswhere.onboardFlow.models.CreateSequenceRequest;
 import com.hooswhere.onboardFlow.models.CreateStepRequest;
+import com.hooswhere.onboardFlow.models.KeysetPage;
+import com.hooswhere.onboardFlow.models.ListView;
+import com.hooswhere.onboardFlow.models.PageCursor;
 import com.hooswhere.onboardFlow.models.SequenceListResponse;
 import com.hooswhere.onboardFlow.models.SequenceResponse;
 import com.hooswhere.onboardFlow.models.StepResponse;
@@ -11,6 +16,7 @@ import com.hooswhere.onboardFlow.models.EmailStepConfig;
 import com.hooswhere.onboardFlow.service.EmailSequenceService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -26,12 +32,16 @@ import java.util.stream.Collectors;
  * Controller implementation for EmailSequenceApi
  */
 @RestController
+@Profile({Roles.API, Roles.ALL})
 public class EmailSequenceController implements EmailSequenceApi {
     private static final Logger LOG = LoggerFactory.getLogger(EmailSequenceController.class);
+    private static final int MAX_PAGE_SIZE = 500;
     private final EmailSequenceService sequenceService;
+    private final ObjectMapper objectMapper;
 
-    public EmailSequenceController(EmailSequenceService sequenceService) {
+    public EmailSequenceController(EmailSequenceService sequenceService, ObjectMapper objectMapper) {
         this.sequenceService = sequenceService;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -78,11 +88,27 @@ public class EmailSequenceController implements EmailSequenceApi {
     }
 
     @Override
-    public ResponseEntity<SequenceListResponse> listSequences() {
-        List<SequenceResponse> list = sequenceService.listAllSequences().stream()
-            .map(this::toResponse)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(new SequenceListResponse(list));
+    public ResponseEntity<SequenceListResponse> listSequences(int limit, String cursor, ListView view, String ifNoneMatch) {
+        try {
+            PageCursor after = cursor != null ? PageCursor.decode(cursor) : null;
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            boolean includeSteps = view != ListView.SUMMARY;
+            KeysetPage<SequenceResponse> page = sequenceService.listSequences(after, pageSize, includeSteps)
+                .map(config -> includeSteps ? toResponse(config) : toSummaryResponse(config));
+
+            String etag = ListEtags.weakEtag(objectMapper, page.items(), view, cursor, pageSize);
+            if (ListEtags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            String nextCursor = page.nextCursor() != null ? page.nextCursor().encode() : null;
+            return ResponseEntity.ok().eTag(etag).body(new SequenceListResponse(page.items(), nextCursor));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Invalid sequence list request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            LOG.error("Error listing sequences", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
     }
 
     @Override
@@ -361,6 +387,17 @@ public class EmailSequenceController implements EmailSequenceApi {
         );
     }
 
+    private SequenceResponse toSummaryResponse(EmailSequenceConfig config) {
+        return new SequenceResponse(
+            config.id(),
+            config.name(),
+            config.description(),
+            config.isActive(),
+            config.maxDurationDays(),
+            null
+        );
+    }
+
     private StepResponse toStepResponse(EmailStepConfig step) {
         return new StepResponse(
             step.stepOrder(),
@@ -6,18 +6,23 @@ import com.hooswhere.onboardFlow.models.TemplateListResponse;
 import com.hooswhere.onboardFlow.models.TemplatePreviewRequest;
 import com.hooswhere.onboardFlow.models.TemplatePreviewResponse;
 import com.hooswhere.onboardFlow.models.TemplateResponse;
+import com.hooswhere.onboardFlow.models.ListView;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * API interface for managing email templates
@@ -37,11 +42,24 @@ public interface EmailTemplateApi {
         @Valid @RequestBody CreateTemplateRequest request
     );
 
-    @Operation(summary = "List all email templates")
-    @ApiResponse(responseCode = "200", description = "List of templates",
-        content = @Content(schema = @Schema(implementation = TemplateListResponse.class)))
+    @Operation(summary = "List email templates",
+        description = "Newest first, paginated by cursor. Pass nextCursor back as cursor to fetch the following page.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of templates",
+            content = @Content(schema = @Schema(implementation = TemplateListResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag sent in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
     @RequestMapping(method = RequestMethod.GET, produces = "application/json")
-    ResponseEntity<TemplateListResponse> listTemplates();
+    ResponseEntity<TemplateListResponse> listTemplates(
+        @Parameter(description = "Maximum number of templates to return, capped at 500")
+        @RequestParam(name = "limit", defaultValue = "100") int limit,
+        @Parameter(description = "nextCursor from the previous page")
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @Parameter(description = "SUMMARY leaves out template bodies")
+        @RequestParam(name = "view", defaultValue = "FULL") ListView view,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    );
 
     @Operation(summary = "Get an email template by slug")
     @ApiResponses({
@@ -1,33 +1,42 @@
 package com.hooswhere.onboardFlow.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hooswhere.onboardFlow.config.Roles;
 import com.hooswhere.onboardFlow.entity.EmailTemplateEntity;
 import com.hooswhere.onboardFlow.models.CreateTemplateRequest;
+import com.hooswhere.onboardFlow.models.KeysetPage;
+import com.hooswhere.onboardFlow.models.ListView;
+import com.hooswhere.onboardFlow.models.PageCursor;
 import com.hooswhere.onboardFlow.models.TemplateListResponse;
 import com.hooswhere.onboardFlow.models.TemplatePreviewRequest;
 import com.hooswhere.onboardFlow.models.TemplatePreviewResponse;
 import com.hooswhere.onboardFlow.models.TemplateResponse;
+import com.hooswhere.onboardFlow.models.TemplateSummary;
 import com.hooswhere.onboardFlow.models.UpdateTemplateRequest;
 import com.hooswhere.onboardFlow.service.EmailTemplateService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.stream.Collectors;
 
 /**
  * Controller implementation for EmailTemplateApi
  */
 @RestController
+@Profile({Roles.API, Roles.ALL})
 public class EmailTemplateController implements EmailTemplateApi {
     private static final Logger LOG = LoggerFactory.getLogger(EmailTemplateController.class);
+    private static final int MAX_PAGE_SIZE = 500;
     private final EmailTemplateService templateService;
+    private final ObjectMapper objectMapper;
 
-    public EmailTemplateController(EmailTemplateService templateService) {
+    public EmailTemplateController(EmailTemplateService templateService, ObjectMapper objectMapper) {
         this.templateService = templateService;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -47,11 +56,27 @@ public class EmailTemplateController implements EmailTemplateApi {
     }
 
     @Override
-    public ResponseEntity<TemplateListResponse> listTemplates() {
-        List<TemplateResponse> list = templateService.listAllTemplates().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(new TemplateListResponse(list));
+    public ResponseEntity<TemplateListResponse> listTemplates(int limit, String cursor, ListView view, String ifNoneMatch) {
+        try {
+            PageCursor after = cursor != null ? PageCursor.decode(cursor) : null;
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            KeysetPage<TemplateResponse> page = view == ListView.SUMMARY
+                    ? templateService.listTemplateSummaries(after, pageSize).map(this::toResponse)
+                    : templateService.listTemplates(after, pageSize).map(this::toResponse);
+
+            String etag = ListEtags.weakEtag(objectMapper, page.items(), view, cursor, pageSize);
+            if (ListEtags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            String nextCursor = page.nextCursor() != null ? page.nextCursor().encode() : null;
+            return ResponseEntity.ok().eTag(etag).body(new TemplateListResponse(page.items(), nextCursor));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Invalid template list request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            LOG.error("Error listing templates", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
     }
 
     @Override
@@ -139,4 +164,13 @@ public class EmailTemplateController implements EmailTemplateApi {
             e.getCreatedAt(), e.getUpdatedAt()
         );
     }
+
+    private TemplateResponse toResponse(TemplateSummary s) {
+        return new TemplateResponse(
+            s.slug(), s.name(), s.subject(),
+            null, null,
+            s.isActive(), s.version(),
+            s.createdAt(), s.updatedAt()
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.hooswhere.onboardFlow.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Weak ETags for list pages, a SHA-256 of the items as they are serialized, so any change to a
+ * field in the response changes the tag and a client polling an unchanged page gets a 304.
+ */
+final class ListEtags {
+
+    private ListEtags() {
+    }
+
+    static String weakEtag(ObjectMapper objectMapper, List<?> items, Object... requestScope)
+            throws JsonProcessingException {
+        StringBuilder scope = new StringBuilder();
+        for (Object part : requestScope) {
+            scope.append(part).append(';');
+        }
+        // Sorted map keys, so variables maps hash the same whatever their iteration order
+        byte[] page = objectMapper.writer(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).writeValueAsBytes(items);
+        String hash = Hashing.sha256().newHasher()
+                .putString(scope, StandardCharsets.UTF_8)
+                .putBytes(page)
+                .hash()
+                .toString();
+        return "W/\"" + hash + "\"";
+    }
+
+    /**
+     * Weak comparison as required for If-None-Match (RFC 9110 section 13.1.2).
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || stripWeak(trimmed).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -1,18 +1,32 @@
 package com.hooswhere.onboardFlow.api;
 
-import com.hooswhere.onboardFlow.OnboardingProgressInfo;
+import com.hooswhere.onboardFlow.OnboardingStatus;
+import com.hooswhere.onboardFlow.models.BulkSignalJobResponse;
+import com.hooswhere.onboardFlow.models.BulkSignalRequest;
+import com.hooswhere.onboardFlow.models.OnboardingIntakeResponse;
+import com.hooswhere.onboardFlow.models.OnboardingListResponse;
+import com.hooswhere.onboardFlow.models.OnboardingProgressResponse;
 import com.hooswhere.onboardFlow.models.StartOnboardingRequest;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
 
 @Tag(name = "Customer Onboarding", description = "API for managing customer onboarding workflows")
 @RequestMapping("/api/onboarding")
@@ -20,18 +34,111 @@ public interface OnboardingApi {
 
     @Operation(
             summary = "Start customer onboarding",
-            description = "Initiates a new onboarding workflow for a customer with the specified email sequence"
+            description = "Initiates a new onboarding workflow for a customer with the specified email sequence. "
+                    + "With onboard.intake.enabled the request is queued and started in the background; "
+                    + "poll the returned intake request for the outcome. "
+                    + "Retries sent with the same Idempotency-Key get the first response instead of starting again."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Onboarding started successfully",
-                    content = @Content(schema = @Schema(implementation = OnboardingProgressInfo.class))),
+            @ApiResponse(responseCode = "200", description = "Onboarding started successfully"),
+            @ApiResponse(responseCode = "202", description = "Request queued for starting",
+                    content = @Content(schema = @Schema(implementation = OnboardingIntakeResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
-            @ApiResponse(responseCode = "409", description = "Customer already has active onboarding")
+            @ApiResponse(responseCode = "409", description = "Customer already has active onboarding, "
+                    + "or a request with this Idempotency-Key is still running"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request")
     })
     @RequestMapping(value = "/start",
             produces = "application/json",
             method = RequestMethod.POST)
-    ResponseEntity<OnboardingProgressInfo> startOnboarding(
-            @Valid @RequestBody StartOnboardingRequest request
+    ResponseEntity<OnboardingIntakeResponse> startOnboarding(
+            @Valid @RequestBody StartOnboardingRequest request,
+            @Parameter(description = "Client-chosen key, at most 255 characters, that makes retries safe")
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey
+    );
+
+    @Operation(
+            summary = "List onboardings",
+            description = "Lists stored onboarding progress, most recently started first, without querying Temporal. "
+                    + "Pass nextCursor back as cursor to fetch the following page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of onboardings",
+                    content = @Content(schema = @Schema(implementation = OnboardingListResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or cursor")
+    })
+    @RequestMapping(produces = "application/json",
+            method = RequestMethod.GET)
+    ResponseEntity<OnboardingListResponse> listOnboardings(
+            @Parameter(description = "Only onboardings in these statuses; repeat to pass several")
+            @RequestParam(name = "status", required = false) List<OnboardingStatus> statuses,
+            @RequestParam(name = "sequenceId", required = false) UUID sequenceId,
+            @RequestParam(name = "customerId", required = false) UUID customerId,
+            @Parameter(description = "Started at or after this instant (ISO-8601)")
+            @RequestParam(name = "startedAfter", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startedAfter,
+            @Parameter(description = "Started before this instant (ISO-8601)")
+            @RequestParam(name = "startedBefore", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startedBefore,
+            @Parameter(description = "Maximum number of onboardings to return, capped at 500")
+            @RequestParam(name = "limit", defaultValue = "100") int limit,
+            @Parameter(description = "nextCursor from the previous page")
+            @RequestParam(name = "cursor", required = false) String cursor
+    );
+
+    @Operation(summary = "Get stored progress of an onboarding by workflow ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Onboarding found",
+                    content = @Content(schema = @Schema(implementation = OnboardingProgressResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Onboarding not found")
+    })
+    @RequestMapping(value = "/{workflowId}",
+            produces = "application/json",
+            method = RequestMethod.GET)
+    ResponseEntity<OnboardingProgressResponse> getOnboarding(
+            @PathVariable("workflowId") String workflowId
+    );
+
+    @Operation(
+            summary = "Signal onboardings in bulk",
+            description = "Starts an asynchronous job that pauses, resumes or cancels every onboarding matching the "
+                    + "selection. At least sequenceId or statuses must be given. Poll the returned job for progress."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job started",
+                    content = @Content(schema = @Schema(implementation = BulkSignalJobResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Missing selection")
+    })
+    @RequestMapping(value = "/bulk-signals",
+            produces = "application/json",
+            method = RequestMethod.POST)
+    ResponseEntity<BulkSignalJobResponse> startBulkSignal(
+            @Valid @RequestBody BulkSignalRequest request
+    );
+
+    @Operation(summary = "Get progress of a bulk signal job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found",
+                    content = @Content(schema = @Schema(implementation = BulkSignalJobResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+    })
+    @RequestMapping(value = "/bulk-signals/{jobId}",
+            produces = "application/json",
+            method = RequestMethod.GET)
+    ResponseEntity<BulkSignalJobResponse> getBulkSignalJob(
+            @PathVariable("jobId") UUID jobId
+    );
+
+    @Operation(summary = "Get the outcome of a queued start request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Request found",
+                    content = @Content(schema = @Schema(implementation = OnboardingIntakeResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Unknown request")
+    })
+    @RequestMapping(value = "/intake/{intakeId}",
+            produces = "application/json",
+            method = RequestMethod.GET)
+    ResponseEntity<OnboardingIntakeResponse> getIntakeRequest(
+            @PathVariable("intakeId") UUID intakeId
     );
 }
@@ -1,26 +1,123 @@
 package com.hooswhere.onboardFlow.api;
 
 import com.hooswhere.onboardFlow.OnboardingAlreadyStartedException;
-import com.hooswhere.onboardFlow.OnboardingProgressInfo;
+import com.hooswhere.onboardFlow.OnboardingStatus;
+import com.hooswhere.onboardFlow.config.IntakeProps;
+import com.hooswhere.onboardFlow.config.Roles;
+import com.hooswhere.onboardFlow.entity.OnboardingIntakeEntity;
+import com.hooswhere.onboardFlow.entity.OnboardingProgressEntity;
+import com.hooswhere.onboardFlow.models.BulkSignalJobResponse;
+import com.hooswhere.onboardFlow.models.BulkSignalRequest;
+import com.hooswhere.onboardFlow.models.KeysetPage;
+import com.hooswhere.onboardFlow.models.OnboardingIntakeResponse;
+import com.hooswhere.onboardFlow.models.OnboardingListResponse;
+import com.hooswhere.onboardFlow.models.OnboardingProgressFilter;
+import com.hooswhere.onboardFlow.models.OnboardingProgressResponse;
+import com.hooswhere.onboardFlow.models.OnboardingSummary;
+import com.hooswhere.onboardFlow.models.PageCursor;
 import com.hooswhere.onboardFlow.models.StartOnboardingRequest;
+import com.hooswhere.onboardFlow.service.IdempotencyService;
+import com.hooswhere.onboardFlow.service.OnboardingIntakeService;
+import com.hooswhere.onboardFlow.service.OnboardingService;
+import com.hooswhere.onboardFlow.temporal.BulkSignalDispatcher;
+import com.hooswhere.onboardFlow.temporal.BulkSignalJob;
 import com.hooswhere.onboardFlow.temporal.OnboardingStarter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
 @RestController
+@Profile({Roles.API, Roles.ALL})
 public class OnboardingController implements OnboardingApi {
     private static final Logger LOG = LoggerFactory.getLogger(OnboardingController.class);
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final List<OnboardingStatus> ACTIVE_STATUSES =
+            List.of(OnboardingStatus.IN_PROGRESS, OnboardingStatus.PAUSED);
     private final OnboardingStarter onboardingStarter;
+    private final OnboardingService onboardingService;
+    private final BulkSignalDispatcher bulkSignalDispatcher;
+    private final OnboardingIntakeService intakeService;
+    private final IntakeProps intakeProps;
+    private final IdempotencyService idempotencyService;
 
-    public OnboardingController(OnboardingStarter onboardingStarter) {
+    public OnboardingController(OnboardingStarter onboardingStarter, OnboardingService onboardingService,
+                                BulkSignalDispatcher bulkSignalDispatcher, OnboardingIntakeService intakeService,
+                                IntakeProps intakeProps, IdempotencyService idempotencyService) {
             this.onboardingStarter = onboardingStarter;
+            this.onboardingService = onboardingService;
+            this.bulkSignalDispatcher = bulkSignalDispatcher;
+            this.intakeService = intakeService;
+            this.intakeProps = intakeProps;
+            this.idempotencyService = idempotencyService;
     }
     @Override
-    public ResponseEntity<OnboardingProgressInfo> startOnboarding(StartOnboardingRequest request) {
+    public ResponseEntity<OnboardingIntakeResponse> startOnboarding(StartOnboardingRequest request, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return start(request, null);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            LOG.warn("Invalid Idempotency-Key of length {}", idempotencyKey.length());
+            return ResponseEntity.status(400).build();
+        }
+        String requestHash = idempotencyService.hash(request);
+        Optional<IdempotencyService.StoredResponse> stored = idempotencyService.find(idempotencyKey);
+        if (stored.isPresent()) {
+            return replay(stored.get(), requestHash);
+        }
+        if (!idempotencyService.claim(idempotencyKey, requestHash)) {
+            // Lost the race to another request with this key; replay it if it has finished meanwhile
+            return idempotencyService.find(idempotencyKey)
+                    .map(response -> replay(response, requestHash))
+                    .orElseGet(() -> ResponseEntity.status(409).build());
+        }
+
+        ResponseEntity<OnboardingIntakeResponse> response;
         try {
-            onboardingStarter.startOnboardingWorkflow(request);
+            response = start(request, idempotencyService.workflowId(idempotencyKey, requestHash));
+        } catch (RuntimeException e) {
+            idempotencyService.fail(idempotencyKey);
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            // The start may still have gone through (e.g. a timeout), so the retry runs the request
+            // again under the same workflow id and resumes that onboarding rather than replaying the failure
+            idempotencyService.fail(idempotencyKey);
+            return response;
+        }
+        URI location = response.getHeaders().getLocation();
+        idempotencyService.complete(idempotencyKey, requestHash, response.getStatusCode().value(),
+                response.getBody(), location != null ? location.toString() : null);
+        return response;
+    }
+
+    private ResponseEntity<OnboardingIntakeResponse> replay(IdempotencyService.StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            LOG.warn("Idempotency-Key reused for a different request");
+            return ResponseEntity.status(422).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(stored.status());
+        if (stored.location() != null) {
+            response.location(URI.create(stored.location()));
+        }
+        return response.body(idempotencyService.readBody(stored, OnboardingIntakeResponse.class));
+    }
+
+    // workflowId is null for requests without an Idempotency-Key, which get a generated one
+    private ResponseEntity<OnboardingIntakeResponse> start(StartOnboardingRequest request, String workflowId) {
+        if (intakeProps.enabled()) {
+            return acceptOnboarding(request);
+        }
+        try {
+            onboardingStarter.startOnboardingWorkflow(request, workflowId);
         } catch (OnboardingAlreadyStartedException e) {
             LOG.warn("Onboarding already started for customer: {}", request.customer().email(), e);
             return ResponseEntity.status(409).build();
@@ -31,4 +128,109 @@ public class OnboardingController implements OnboardingApi {
 
         return ResponseEntity.ok().build();
     }
+
+    // Queue the request without touching Temporal; OnboardingIntakeStarter starts it
+    private ResponseEntity<OnboardingIntakeResponse> acceptOnboarding(StartOnboardingRequest request) {
+        try {
+            UUID.fromString(request.sequenceId());
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Invalid sequenceId: {}", request.sequenceId());
+            return ResponseEntity.status(400).build();
+        }
+        try {
+            OnboardingIntakeEntity intake = intakeService.accept(request);
+            return ResponseEntity.status(202)
+                    .location(URI.create("/api/onboarding/intake/" + intake.getId()))
+                    .body(toResponse(intake));
+        } catch (Exception e) {
+            LOG.error("Error queueing onboarding for customer: {}", request.customer().email(), e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    @Override
+    public ResponseEntity<OnboardingListResponse> listOnboardings(List<OnboardingStatus> statuses, UUID sequenceId,
+                                                                  UUID customerId, Instant startedAfter,
+                                                                  Instant startedBefore, int limit, String cursor) {
+        try {
+            PageCursor after = cursor != null ? PageCursor.decode(cursor) : null;
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            OnboardingProgressFilter filter = new OnboardingProgressFilter(
+                    statuses, sequenceId, customerId, startedAfter, startedBefore);
+            KeysetPage<OnboardingSummary> page = onboardingService.listOnboardings(filter, after, pageSize);
+            String nextCursor = page.nextCursor() != null ? page.nextCursor().encode() : null;
+            return ResponseEntity.ok(new OnboardingListResponse(page.items(), nextCursor));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Invalid onboarding list request: {}", e.getMessage());
+            return ResponseEntity.status(400).build();
+        } catch (Exception e) {
+            LOG.error("Error listing onboardings", e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    @Override
+    public ResponseEntity<OnboardingProgressResponse> getOnboarding(String workflowId) {
+        return onboardingService.getByWorkflowId(workflowId)
+                .map(progress -> ResponseEntity.ok(toResponse(progress)))
+                .orElseGet(() -> ResponseEntity.status(404).build());
+    }
+
+    @Override
+    public ResponseEntity<BulkSignalJobResponse> startBulkSignal(BulkSignalRequest request) {
+        boolean hasStatuses = request.statuses() != null && !request.statuses().isEmpty();
+        if (request.sequenceId() == null && !hasStatuses) {
+            // Refuse to signal every onboarding ever started
+            return ResponseEntity.status(400).build();
+        }
+        OnboardingProgressFilter filter = new OnboardingProgressFilter(
+                hasStatuses ? request.statuses() : ACTIVE_STATUSES,
+                request.sequenceId(),
+                null,
+                request.startedAfter(),
+                request.startedBefore());
+        BulkSignalJob job = bulkSignalDispatcher.submit(request.signal(), filter);
+        return ResponseEntity.status(202)
+                .location(URI.create("/api/onboarding/bulk-signals/" + job.getId()))
+                .body(toResponse(job));
+    }
+
+    @Override
+    public ResponseEntity<BulkSignalJobResponse> getBulkSignalJob(UUID jobId) {
+        return bulkSignalDispatcher.getJob(jobId)
+                .map(job -> ResponseEntity.ok(toResponse(job)))
+                .orElseGet(() -> ResponseEntity.status(404).build());
+    }
+
+    @Override
+    public ResponseEntity<OnboardingIntakeResponse> getIntakeRequest(UUID intakeId) {
+        return intakeService.get(intakeId)
+                .map(intake -> ResponseEntity.ok(toResponse(intake)))
+                .orElseGet(() -> ResponseEntity.status(404).build());
+    }
+
+    private OnboardingIntakeResponse toResponse(OnboardingIntakeEntity intake) {
+        return new OnboardingIntakeResponse(
+                intake.getId(), intake.getStatus().name(), intake.getAttempts(),
+                intake.getWorkflowId(), intake.getLastError(),
+                intake.getCreatedAt(), intake.getCompletedAt()
+        );
+    }
+
+    private BulkSignalJobResponse toResponse(BulkSignalJob job) {
+        return new BulkSignalJobResponse(
+                job.getId(), job.getSignal(), job.getState().name(),
+                job.getMatched(), job.getSignalled(), job.getSkipped(), job.getFailed(),
+                job.getStartedAt(), job.getFinishedAt(), job.getLastError()
+        );
+    }
+
+    private OnboardingProgressResponse toResponse(OnboardingProgressEntity e) {
+        return new OnboardingProgressResponse(
+                e.getId(), e.getWorkflowId(), e.getCustomerId(), e.getSequenceId(),
+                e.getStatus(), e.getCurrentStep(),
+                e.getStartedAt(), e.getCompletedAt(), e.getLastActivityAt(),
+                e.getMetadata()
+        );
+    }
 }
@@ -0,0 +1,51 @@
+package com.hooswhere.onboardFlow.api;
+
+import com.hooswhere.onboardFlow.models.ActionIngestResponse;
+import com.hooswhere.onboardFlow.models.UserActionEvent;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * API interface for ingesting customer product activity
+ */
+@Tag(name = "User Actions", description = "Batch ingestion of customer activity events")
+@RequestMapping("/api/actions")
+public interface UserActionApi {
+
+    @Operation(summary = "Ingest a JSON array of user actions",
+        description = "Stores the events in user_actions. Login, feature_used and trial_converted events are "
+            + "forwarded to the customer's active onboarding workflows, at most one signal per customer per window.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Batch stored",
+            content = @Content(schema = @Schema(implementation = ActionIngestResponse.class))),
+        @ApiResponse(responseCode = "413", description = "Batch exceeds the configured maximum size")
+    })
+    @RequestMapping(method = RequestMethod.POST, consumes = "application/json", produces = "application/json")
+    ResponseEntity<ActionIngestResponse> ingestActions(
+        @RequestBody List<UserActionEvent> events
+    );
+
+    @Operation(summary = "Ingest newline-delimited JSON user actions",
+        description = "Same as the JSON array form, with one event object per line.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Batch stored",
+            content = @Content(schema = @Schema(implementation = ActionIngestResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Malformed line"),
+        @ApiResponse(responseCode = "413", description = "Batch exceeds the configured maximum size")
+    })
+    @RequestMapping(method = RequestMethod.POST, consumes = "application/x-ndjson", produces = "application/json")
+    ResponseEntity<ActionIngestResponse> ingestActionsNdjson(
+        InputStream body
+    );
+}
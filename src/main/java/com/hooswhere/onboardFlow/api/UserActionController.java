@@ -0,0 +1,77 @@
+package com.hooswhere.onboardFlow.api;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.hooswhere.onboardFlow.config.Roles;
+import com.hooswhere.onboardFlow.config.UserActionProps;
+import com.hooswhere.onboardFlow.models.ActionIngestResponse;
+import com.hooswhere.onboardFlow.models.UserActionEvent;
+import com.hooswhere.onboardFlow.service.UserActionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controller implementation for UserActionApi
+ */
+@RestController
+@Profile({Roles.API, Roles.ALL})
+public class UserActionController implements UserActionApi {
+    private static final Logger LOG = LoggerFactory.getLogger(UserActionController.class);
+    private final UserActionService userActionService;
+    private final UserActionProps props;
+    private final ObjectReader eventReader;
+
+    public UserActionController(UserActionService userActionService, UserActionProps props, ObjectMapper objectMapper) {
+        this.userActionService = userActionService;
+        this.props = props;
+        this.eventReader = objectMapper.readerFor(UserActionEvent.class);
+    }
+
+    @Override
+    public ResponseEntity<ActionIngestResponse> ingestActions(List<UserActionEvent> events) {
+        if (events.size() > props.maxBatchSize()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ingest(events);
+    }
+
+    @Override
+    public ResponseEntity<ActionIngestResponse> ingestActionsNdjson(InputStream body) {
+        List<UserActionEvent> events = new ArrayList<>();
+        try (MappingIterator<UserActionEvent> lines = eventReader.readValues(body)) {
+            while (lines.hasNextValue()) {
+                if (events.size() == props.maxBatchSize()) {
+                    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+                }
+                events.add(lines.nextValue());
+            }
+        } catch (IOException e) {
+            LOG.warn("Malformed NDJSON user action batch: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return ingest(events);
+    }
+
+    private ResponseEntity<ActionIngestResponse> ingest(List<UserActionEvent> events) {
+        try {
+            List<UserActionEvent> stored = userActionService.ingest(events);
+            return ResponseEntity.ok(new ActionIngestResponse(stored.size(), events.size() - stored.size()));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Rejected user action batch: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            LOG.error("Error ingesting user actions", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
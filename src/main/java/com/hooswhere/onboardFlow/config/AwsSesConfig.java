@@ -1,24 +1,88 @@
 package com.hooswhere.onboardFlow.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.instrumentation.awssdk.v2_2.AwsSdkTelemetry;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtHttpClient;
+import software.amazon.awssdk.http.crt.TcpKeepAliveConfiguration;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sesv2.SesV2Client;
+import software.amazon.awssdk.services.sesv2.SesV2ClientBuilder;
+
+import java.net.URI;
 
 @Configuration
+@Profile({Roles.WORKER, Roles.ALL})
 @EnableConfigurationProperties(AwsSesProps.class)
 public class AwsSesConfig {
     @Bean
-    public SesV2Client sesV2Client(AwsSesProps awsSesProps) {
-        return SesV2Client.builder()
+    public SesV2Client sesV2Client(AwsSesProps awsSesProps, SdkHttpClient sesHttpClient, SesHttpMetricsPublisher sesHttpMetricsPublisher,
+                                   OpenTelemetry openTelemetry) {
+        AwsSesProps.HttpClient httpProps = awsSesProps.httpClient();
+        SesV2ClientBuilder builder = SesV2Client.builder()
                 .region(Region.of(awsSesProps.region()))
                 .credentialsProvider(getCredentialsProvider(awsSesProps))
-                .build();
+                .httpClient(sesHttpClient)
+                .overrideConfiguration(o -> o
+                        .apiCallTimeout(httpProps.apiCallTimeout())
+                        .apiCallAttemptTimeout(httpProps.apiCallAttemptTimeout())
+                        .addMetricPublisher(sesHttpMetricsPublisher)
+                        // One client span per SES call, child of the current trace
+                        .addExecutionInterceptor(AwsSdkTelemetry.create(openTelemetry).newExecutionInterceptor()));
+        if (awsSesProps.endpointOverride() != null && !awsSesProps.endpointOverride().isEmpty()) {
+            builder.endpointOverride(URI.create(awsSesProps.endpointOverride()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * HTTP client backing the SES client. Declared as its own bean so Spring closes the connection
+     * pool on shutdown; the SDK does not close clients that were passed in through the builder.
+     */
+    @Bean(destroyMethod = "close")
+    public SdkHttpClient sesHttpClient(AwsSesProps awsSesProps) {
+        AwsSesProps.HttpClient httpProps = awsSesProps.httpClient();
+        return switch (httpProps.type()) {
+            case APACHE -> ApacheHttpClient.builder()
+                    .maxConnections(httpProps.maxConnections())
+                    .connectionTimeout(httpProps.connectionTimeout())
+                    .connectionAcquisitionTimeout(httpProps.connectionAcquisitionTimeout())
+                    .socketTimeout(httpProps.socketTimeout())
+                    .connectionTimeToLive(httpProps.connectionTimeToLive())
+                    .connectionMaxIdleTime(httpProps.connectionMaxIdleTime())
+                    .useIdleConnectionReaper(httpProps.useIdleConnectionReaper())
+                    .tcpKeepAlive(httpProps.tcpKeepAlive())
+                    .build();
+            case CRT -> {
+                AwsCrtHttpClient.Builder builder = AwsCrtHttpClient.builder()
+                        .maxConcurrency(httpProps.maxConnections())
+                        .connectionTimeout(httpProps.connectionTimeout())
+                        .connectionAcquisitionTimeout(httpProps.connectionAcquisitionTimeout())
+                        .connectionMaxIdleTime(httpProps.connectionMaxIdleTime());
+                if (httpProps.tcpKeepAlive()) {
+                    builder.tcpKeepAliveConfiguration(TcpKeepAliveConfiguration.builder()
+                            .keepAliveInterval(httpProps.tcpKeepAliveInterval())
+                            .keepAliveTimeout(httpProps.tcpKeepAliveTimeout())
+                            .build());
+                }
+                yield builder.build();
+            }
+        };
+    }
+
+    @Bean
+    public SesHttpMetricsPublisher sesHttpMetricsPublisher(MeterRegistry meterRegistry, AwsSesProps awsSesProps) {
+        return new SesHttpMetricsPublisher(meterRegistry, awsSesProps.httpClient().type());
     }
 
     private AwsCredentialsProvider getCredentialsProvider(AwsSesProps awsSesProps) {
@@ -1,9 +1,15 @@
 package com.hooswhere.onboardFlow.config;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "aws.ses")
 @Validated
 public record AwsSesProps(
@@ -12,5 +18,34 @@ public record AwsSesProps(
         String accessKey,
         String secretKey,
         @NotEmpty String fromEmail,
-        @NotEmpty String fromName
-) {}
\ No newline at end of file
+        @NotEmpty String fromName,
+        // Send to another endpoint than the regional one, such as the SES stub of the load test
+        String endpointOverride,
+        @Valid @DefaultValue HttpClient httpClient
+) {
+    public enum HttpClientType {
+        APACHE,
+        CRT
+    }
+
+    /**
+     * HTTP transport settings for the SES client. The pool should be sized to at least the number of
+     * activity slots that can send concurrently, otherwise sends queue up waiting for a connection lease.
+     */
+    public record HttpClient(
+            @NotNull @DefaultValue("APACHE") HttpClientType type,
+            @Min(1) @DefaultValue("200") int maxConnections,
+            @DefaultValue("2s") Duration connectionTimeout,
+            @DefaultValue("5s") Duration connectionAcquisitionTimeout,
+            @DefaultValue("30s") Duration socketTimeout,
+            // Recycle connections periodically so DNS changes on the SES endpoint are picked up (Apache only)
+            @DefaultValue("5m") Duration connectionTimeToLive,
+            @DefaultValue("60s") Duration connectionMaxIdleTime,
+            @DefaultValue("true") boolean useIdleConnectionReaper,
+            @DefaultValue("true") boolean tcpKeepAlive,
+            @DefaultValue("30s") Duration tcpKeepAliveInterval,
+            @DefaultValue("10s") Duration tcpKeepAliveTimeout,
+            @DefaultValue("20s") Duration apiCallTimeout,
+            @DefaultValue("5s") Duration apiCallAttemptTimeout
+    ) {}
+}
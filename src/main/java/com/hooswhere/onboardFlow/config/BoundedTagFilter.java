@@ -0,0 +1,47 @@
+package com.hooswhere.onboardFlow.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caps the number of distinct values of one tag on meters under a name prefix. The first
+ * {@code maxValues} values are kept as they are; any value seen after that is reported as
+ * {@code other}, so totals stay correct while the number of time series stays bounded.
+ */
+public class BoundedTagFilter implements MeterFilter {
+    private static final String OVERFLOW_VALUE = "other";
+
+    private final String namePrefix;
+    private final String tagKey;
+    private final int maxValues;
+    private final Set<String> seenValues = ConcurrentHashMap.newKeySet();
+
+    public BoundedTagFilter(String namePrefix, String tagKey, int maxValues) {
+        this.namePrefix = namePrefix;
+        this.tagKey = tagKey;
+        this.maxValues = maxValues;
+    }
+
+    @Override
+    public Meter.Id map(Meter.Id id) {
+        if (!id.getName().startsWith(namePrefix)) {
+            return id;
+        }
+        String value = id.getTag(tagKey);
+        if (value == null || seenValues.contains(value)) {
+            return id;
+        }
+        // Racing threads may let a few extra values in; the bound is approximate by design
+        if (seenValues.size() < maxValues) {
+            seenValues.add(value);
+            return id;
+        }
+        return id.replaceTags(id.getTags().stream()
+                .map(tag -> tag.getKey().equals(tagKey) ? Tag.of(tagKey, OVERFLOW_VALUE) : tag)
+                .toList());
+    }
+}
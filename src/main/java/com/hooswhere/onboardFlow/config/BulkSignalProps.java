@@ -0,0 +1,20 @@
+package com.hooswhere.onboardFlow.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties(prefix = "onboard.bulk-signal")
+@Validated
+public record BulkSignalProps(
+        // Signals in flight at once across all jobs
+        @Min(1) @DefaultValue("16") int parallelism,
+        // Shared by all jobs so a large cohort cannot flood the Temporal frontend
+        @Positive @DefaultValue("200") double maxSignalsPerSecond,
+        // Rows read from onboarding_progress per keyset page
+        @Min(1) @DefaultValue("500") int pageSize,
+        // Finished jobs kept for status lookups
+        @Min(1) @DefaultValue("1000") int retainedJobs
+) {}
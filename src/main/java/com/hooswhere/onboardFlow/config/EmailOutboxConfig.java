@@ -0,0 +1,18 @@
+package com.hooswhere.onboardFlow.config;
+
+import io.temporal.client.ActivityCompletionClient;
+import io.temporal.client.WorkflowClient;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile({Roles.WORKER, Roles.ALL})
+@EnableConfigurationProperties({EmailOutboxProps.class, SendLedgerProps.class})
+public class EmailOutboxConfig {
+    @Bean
+    public ActivityCompletionClient activityCompletionClient(WorkflowClient workflowClient) {
+        return workflowClient.newActivityCompletionClient();
+    }
+}
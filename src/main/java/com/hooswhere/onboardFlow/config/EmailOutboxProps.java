@@ -0,0 +1,25 @@
+package com.hooswhere.onboardFlow.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "onboard.outbox")
+@Validated
+public record EmailOutboxProps(
+        @DefaultValue("true") boolean dispatcherEnabled,
+        // Number of sender threads calling SES concurrently
+        @Min(1) @DefaultValue("16") int senders,
+        @Min(1) @DefaultValue("100") int batchSize,
+        @DefaultValue("500ms") Duration pollInterval,
+        // Should match the SES account's maximum send rate
+        @Positive @DefaultValue("14") double maxSendsPerSecond,
+        // Rows claimed longer than this without a result are handed to another sender
+        @DefaultValue("5m") Duration claimTimeout,
+        // How long a message waits before trying again while another message is sending its step
+        @DefaultValue("5s") Duration reservedRetryDelay
+) {}
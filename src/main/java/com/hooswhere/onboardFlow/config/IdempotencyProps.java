@@ -0,0 +1,19 @@
+package com.hooswhere.onboardFlow.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "onboard.idempotency")
+@Validated
+public record IdempotencyProps(
+        // How long a key's response is replayed; after that the key can be used again
+        @DefaultValue("24h") Duration ttl,
+        // A key whose request has not finished after this long is handed to the next retry
+        @DefaultValue("1m") Duration inProgressTimeout,
+        // Completed responses kept in memory in front of idempotency_keys
+        @Min(1) @DefaultValue("10000") int cacheSize
+) {}
@@ -0,0 +1,11 @@
+package com.hooswhere.onboardFlow.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile({Roles.API, Roles.ALL})
+@EnableConfigurationProperties({IntakeProps.class, IdempotencyProps.class})
+public class IntakeConfig {
+}
@@ -0,0 +1,26 @@
+package com.hooswhere.onboardFlow.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "onboard.intake")
+@Validated
+public record IntakeProps(
+        // POST /api/onboarding/start queues the request and answers 202 instead of starting it inline
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("true") boolean starterEnabled,
+        // Workflow starts in flight at once
+        @Min(1) @DefaultValue("8") int starters,
+        @Min(1) @DefaultValue("100") int batchSize,
+        @DefaultValue("200ms") Duration pollInterval,
+        // Rows claimed longer than this without an outcome are handed to another starter
+        @DefaultValue("2m") Duration claimTimeout,
+        // Starts that fail for other reasons than the request itself are retried this often
+        @Min(1) @DefaultValue("10") int maxAttempts,
+        // Multiplied by the attempt number
+        @DefaultValue("5s") Duration retryDelay
+) {}
@@ -0,0 +1,53 @@
+package com.hooswhere.onboardFlow.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties(MetricsProps.class)
+public class MetricsConfig {
+    /** Meter name prefix for the send path meters recorded by this application. */
+    public static final String METER_PREFIX = "onboard.";
+    public static final String TEMPLATE_TAG = "template";
+    public static final String SEQUENCE_TAG = "sequence";
+    /** Prefix of the meters the Temporal SDK reports through the starter's temporalMetricsScope. */
+    private static final String TEMPORAL_METER_PREFIX = "temporal_";
+
+    @Bean
+    public MeterFilter templateTagLimit(MetricsProps props) {
+        return new BoundedTagFilter(METER_PREFIX, TEMPLATE_TAG, props.maxTemplateTags());
+    }
+
+    @Bean
+    public MeterFilter sequenceTagLimit(MetricsProps props) {
+        return new BoundedTagFilter(METER_PREFIX, SEQUENCE_TAG, props.maxSequenceTags());
+    }
+
+    /**
+     * Publish histograms for the SDK's latency timers (schedule-to-start, execution, end-to-end) so
+     * the dashboard can chart p95/p99 per task queue. Buckets reach 10 minutes because schedule-to-start
+     * grows well past the default 30 seconds when a queue is backlogged.
+     */
+    @Bean
+    public MeterFilter temporalLatencyHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!id.getName().startsWith(TEMPORAL_METER_PREFIX) || !id.getName().endsWith("_latency")) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .maximumExpectedValue((double) Duration.ofMinutes(10).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.hooswhere.onboardFlow.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties(prefix = "onboard.metrics")
+@Validated
+public record MetricsProps(
+        // Distinct template slugs / sequence ids tagged on onboard.* meters; later values are reported as "other"
+        @Min(1) @DefaultValue("200") int maxTemplateTags,
+        @Min(1) @DefaultValue("100") int maxSequenceTags,
+        // Port of /actuator/prometheus on worker instances, which have no web server
+        @Min(1) @DefaultValue("8081") int workerPort
+) {}
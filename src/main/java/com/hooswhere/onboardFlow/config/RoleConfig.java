@@ -0,0 +1,27 @@
+package com.hooswhere.onboardFlow.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fails startup unless exactly one role profile is active. application.yml includes the profile
+ * named by {@code onboard.role}; activating a role profile directly as well would mix two roles.
+ */
+@Configuration
+public class RoleConfig {
+
+    public RoleConfig(Environment environment) {
+        List<String> roles = Arrays.stream(environment.getActiveProfiles())
+                .filter(profile -> profile.equals(Roles.API) || profile.equals(Roles.WORKER) || profile.equals(Roles.ALL))
+                .distinct()
+                .toList();
+        if (roles.size() != 1) {
+            throw new IllegalStateException("Exactly one of the " + Roles.API + ", " + Roles.WORKER + " and "
+                    + Roles.ALL + " profiles must be active, but found " + roles
+                    + "; choose the role with onboard.role (ONBOARD_ROLE) instead of spring.profiles.active");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.hooswhere.onboardFlow.config;
+
+/**
+ * Spring profiles selecting what an instance runs. {@link #API} serves the REST API and starts or
+ * signals workflows, {@link #WORKER} polls Temporal and sends email, {@link #ALL} (the default) does
+ * both. The profile is included from the {@code onboard.role} property; see {@link RoleConfig}.
+ */
+public final class Roles {
+    public static final String API = "api";
+    public static final String WORKER = "worker";
+    public static final String ALL = "all";
+
+    private Roles() {
+    }
+}
@@ -0,0 +1,18 @@
+package com.hooswhere.onboardFlow.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties(prefix = "onboard.send-ledger")
+@Validated
+public record SendLedgerProps(
+        // Sizing of each generation of the in-memory bloom filter in front of email_send_ledger. Two
+        // generations are kept, so it remembers the last 1-2x this many reservations in about twice
+        // the memory of one filter (~1.2 MB per million keys at 1%), with up to twice the false positives
+        @Min(1) @DefaultValue("1000000") long bloomExpectedInsertions,
+        @Positive @DecimalMax("0.5") @DefaultValue("0.01") double bloomFalsePositiveRate
+) {}
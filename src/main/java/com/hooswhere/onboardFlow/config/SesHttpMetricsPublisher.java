@@ -0,0 +1,57 @@
+package com.hooswhere.onboardFlow.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+
+import java.time.Duration;
+
+/**
+ * Bridges the SDK's per-request HTTP metrics for the SES client into Micrometer. The lease wait
+ * timer is the one to watch: if it climbs, sends are blocked on the connection pool rather than on SES.
+ */
+public class SesHttpMetricsPublisher implements MetricPublisher {
+    private final Timer leaseWait;
+    private final DistributionSummary leasedConnections;
+    private final DistributionSummary pendingAcquires;
+
+    public SesHttpMetricsPublisher(MeterRegistry meterRegistry, AwsSesProps.HttpClientType clientType) {
+        String client = clientType.name().toLowerCase();
+        this.leaseWait = Timer.builder("ses.http.pool.lease.wait")
+                .description("Time spent waiting to lease a connection from the SES HTTP pool")
+                .tag("client", client)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.leasedConnections = DistributionSummary.builder("ses.http.pool.leased")
+                .description("Connections leased from the SES HTTP pool when a request started")
+                .tag("client", client)
+                .register(meterRegistry);
+        this.pendingAcquires = DistributionSummary.builder("ses.http.pool.pending")
+                .description("Requests waiting for an SES HTTP pool connection when a request started")
+                .tag("client", client)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(MetricCollection metricCollection) {
+        // HTTP metrics are nested under ApiCall -> ApiCallAttempt -> HttpClient, one per attempt
+        for (Duration duration : metricCollection.metricValues(HttpMetric.CONCURRENCY_ACQUIRE_DURATION)) {
+            leaseWait.record(duration);
+        }
+        for (Integer leased : metricCollection.metricValues(HttpMetric.LEASED_CONCURRENCY)) {
+            leasedConnections.record(leased);
+        }
+        for (Integer pending : metricCollection.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES)) {
+            pendingAcquires.record(pending);
+        }
+        metricCollection.children().forEach(this::publish);
+    }
+
+    @Override
+    public void close() {
+        // Meters are owned by the registry
+    }
+}
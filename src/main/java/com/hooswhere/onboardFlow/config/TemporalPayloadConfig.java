@@ -0,0 +1,40 @@
+package com.hooswhere.onboardFlow.config;
+
+import com.hooswhere.onboardFlow.temporal.CompressionPayloadCodec;
+import com.hooswhere.onboardFlow.temporal.SmilePayloadConverter;
+import io.temporal.common.converter.ByteArrayPayloadConverter;
+import io.temporal.common.converter.CodecDataConverter;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.DefaultDataConverter;
+import io.temporal.common.converter.JacksonJsonPayloadConverter;
+import io.temporal.common.converter.NullPayloadConverter;
+import io.temporal.common.converter.ProtobufJsonPayloadConverter;
+import io.temporal.common.converter.ProtobufPayloadConverter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(TemporalPayloadProps.class)
+public class TemporalPayloadConfig {
+    /**
+     * The data converter the Temporal starter uses for the client and workers. Both the JSON and
+     * Smile converters are registered so either can be read; the first that accepts a value writes
+     * it, so Smile goes ahead of JSON when it is the configured encoding.
+     */
+    @Bean
+    public DataConverter mainDataConverter(TemporalPayloadProps props) {
+        boolean smile = props.encoding() == TemporalPayloadProps.Encoding.SMILE;
+        DataConverter converter = new DefaultDataConverter(
+                new NullPayloadConverter(),
+                new ByteArrayPayloadConverter(),
+                new ProtobufJsonPayloadConverter(),
+                new ProtobufPayloadConverter(),
+                smile ? new SmilePayloadConverter() : new JacksonJsonPayloadConverter(),
+                smile ? new JacksonJsonPayloadConverter() : new SmilePayloadConverter());
+        return new CodecDataConverter(converter, List.of(new CompressionPayloadCodec(
+                (int) props.compressionThreshold().toBytes(), props.compressionEnabled())));
+    }
+}
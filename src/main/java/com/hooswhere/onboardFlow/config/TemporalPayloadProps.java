@@ -0,0 +1,19 @@
+package com.hooswhere.onboardFlow.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+// Payloads written in either form are always readable; these only choose how new payloads are written
+@ConfigurationProperties(prefix = "onboard.payload")
+public record TemporalPayloadProps(
+        @DefaultValue("json") Encoding encoding,
+        @DefaultValue("false") boolean compressionEnabled,
+        // Smaller payloads are stored uncompressed
+        @DefaultValue("1KB") DataSize compressionThreshold
+) {
+    public enum Encoding {
+        JSON,
+        SMILE
+    }
+}
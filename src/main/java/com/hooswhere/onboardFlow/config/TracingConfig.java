@@ -0,0 +1,21 @@
+package com.hooswhere.onboardFlow.config;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.opentracingshim.OpenTracingShim;
+import io.opentracing.Tracer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfig {
+    /**
+     * OpenTracing view of Spring Boot's OpenTelemetry SDK. The Temporal starter picks up a Tracer bean
+     * and registers the SDK's tracing client and worker interceptors, which carry the span context in
+     * workflow and activity headers. Declared here because the starter's own shim bean is conditional
+     * on auto-configuration ordering that does not include Spring Boot's OpenTelemetry setup.
+     */
+    @Bean
+    public Tracer temporalTracer(OpenTelemetry openTelemetry) {
+        return OpenTracingShim.createTracerShim(openTelemetry);
+    }
+}
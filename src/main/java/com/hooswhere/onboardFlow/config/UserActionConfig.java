@@ -0,0 +1,9 @@
+package com.hooswhere.onboardFlow.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(UserActionProps.class)
+public class UserActionConfig {
+}
@@ -0,0 +1,32 @@
+package com.hooswhere.onboardFlow.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "onboard.actions")
+@Validated
+public record UserActionProps(
+        // Larger requests are rejected with 413
+        @Min(1) @DefaultValue("10000") int maxBatchSize,
+        // Rows per JDBC batch when inserting into user_actions
+        @Min(1) @DefaultValue("1000") int insertChunkSize,
+        // Each customer gets at most one signal per window, however many events arrive
+        @DefaultValue("5s") Duration signalWindow,
+        // Customers claimed from user_activity_signals per query
+        @Min(1) @DefaultValue("1000") int signalBatchSize,
+        // Claimed signals not completed within this long (e.g. the pod died) are claimed again
+        @DefaultValue("1m") Duration signalClaimTimeout,
+        // Failed signals are retried after this times the attempt count, up to signalMaxRetryDelay
+        @DefaultValue("5s") Duration signalRetryDelay,
+        @DefaultValue("5m") Duration signalMaxRetryDelay,
+        @Min(1) @DefaultValue("8") int signalParallelism,
+        @Positive @DefaultValue("200") double maxSignalsPerSecond,
+        // Workflows already told about activity/conversion are remembered this long and not signalled again
+        @DefaultValue("30d") Duration signalDedupTtl,
+        @Min(1) @DefaultValue("1000000") long signalDedupMaxEntries
+) {}
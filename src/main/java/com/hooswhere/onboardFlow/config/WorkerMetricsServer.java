@@ -0,0 +1,92 @@
+package com.hooswhere.onboardFlow.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves {@code /actuator/prometheus} on worker instances, which run without a web server. The
+ * Temporal SDK meters and the send path meters are only recorded on workers, so this is where they
+ * are scraped. A JDK HTTP server keeps Spring MVC off the worker's startup path.
+ */
+@Component
+@Profile(Roles.WORKER)
+public class WorkerMetricsServer implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(WorkerMetricsServer.class);
+    private static final String SCRAPE_PATH = "/actuator/prometheus";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final PrometheusMeterRegistry registry;
+    private final MetricsProps props;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private volatile boolean running = false;
+
+    public WorkerMetricsServer(PrometheusMeterRegistry registry, MetricsProps props) {
+        this.registry = registry;
+        this.props = props;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(props.workerPort()), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot listen on metrics port " + props.workerPort(), e);
+        }
+        // Scrapes are infrequent; one thread is enough
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "worker-metrics-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        running = true;
+        logger.info("Serving {} on port {}", SCRAPE_PATH, props.workerPort());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod()) || !SCRAPE_PATH.equals(exchange.getRequestURI().getPath())) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
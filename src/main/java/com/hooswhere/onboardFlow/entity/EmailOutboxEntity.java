@@ -0,0 +1,283 @@
+package com.hooswhere.onboardFlow.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JPA entity for email_outbox table. One row per rendered email waiting to be handed to SES.
+ */
+@Entity
+@Table(name = "email_outbox")
+public class EmailOutboxEntity {
+    /*
+    CREATE TABLE IF NOT EXISTS email_outbox (
+        id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+        workflow_id VARCHAR(255) NOT NULL,
+        step_number INTEGER NOT NULL,
+        customer_id UUID,
+        email_template_id VARCHAR(100) NOT NULL,
+        to_email VARCHAR(255) NOT NULL,
+        to_name VARCHAR(255),
+        subject TEXT NOT NULL,
+        html_body TEXT,
+        text_body TEXT,
+        email_tags JSONB,
+        trace_context JSONB,
+        task_token BYTEA NOT NULL,
+        status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+        message_id VARCHAR(255),
+        last_error TEXT,
+        created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+        claimed_at TIMESTAMP WITH TIME ZONE,
+        next_attempt_at TIMESTAMP WITH TIME ZONE,
+        completed_at TIMESTAMP WITH TIME ZONE
+    );
+    */
+
+    public enum Status {
+        PENDING,
+        SENDING,
+        SENT,
+        // Another send for the same workflow step already reached SES
+        SKIPPED,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "workflow_id", nullable = false)
+    private String workflowId;
+
+    @Column(name = "step_number", nullable = false)
+    private int stepNumber;
+
+    @Column(name = "customer_id")
+    private UUID customerId;
+
+    @Column(name = "email_template_id", nullable = false, length = 100)
+    private String emailTemplateId;
+
+    @Column(name = "to_email", nullable = false)
+    private String toEmail;
+
+    @Column(name = "to_name")
+    private String toName;
+
+    @Column(name = "subject", nullable = false, columnDefinition = "TEXT")
+    private String subject;
+
+    @Column(name = "html_body", columnDefinition = "TEXT")
+    private String htmlBody;
+
+    @Column(name = "text_body", columnDefinition = "TEXT")
+    private String textBody;
+
+    @Column(name = "email_tags", columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, String> emailTags;
+
+    @Column(name = "trace_context", columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, String> traceContext;
+
+    @Column(name = "task_token", nullable = false)
+    private byte[] taskToken;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @Column(name = "message_id")
+    private String messageId;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreationTimestamp
+    private Instant createdAt;
+
+    @Column(name = "claimed_at")
+    private Instant claimedAt;
+
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getWorkflowId() {
+        return workflowId;
+    }
+
+    public void setWorkflowId(String workflowId) {
+        this.workflowId = workflowId;
+    }
+
+    public int getStepNumber() {
+        return stepNumber;
+    }
+
+    public void setStepNumber(int stepNumber) {
+        this.stepNumber = stepNumber;
+    }
+
+    public UUID getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(UUID customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getEmailTemplateId() {
+        return emailTemplateId;
+    }
+
+    public void setEmailTemplateId(String emailTemplateId) {
+        this.emailTemplateId = emailTemplateId;
+    }
+
+    public String getToEmail() {
+        return toEmail;
+    }
+
+    public void setToEmail(String toEmail) {
+        this.toEmail = toEmail;
+    }
+
+    public String getToName() {
+        return toName;
+    }
+
+    public void setToName(String toName) {
+        this.toName = toName;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getHtmlBody() {
+        return htmlBody;
+    }
+
+    public void setHtmlBody(String htmlBody) {
+        this.htmlBody = htmlBody;
+    }
+
+    public String getTextBody() {
+        return textBody;
+    }
+
+    public void setTextBody(String textBody) {
+        this.textBody = textBody;
+    }
+
+    public Map<String, String> getEmailTags() {
+        return emailTags;
+    }
+
+    public void setEmailTags(Map<String, String> emailTags) {
+        this.emailTags = emailTags;
+    }
+
+    public Map<String, String> getTraceContext() {
+        return traceContext;
+    }
+
+    public void setTraceContext(Map<String, String> traceContext) {
+        this.traceContext = traceContext;
+    }
+
+    public byte[] getTaskToken() {
+        return taskToken;
+    }
+
+    public void setTaskToken(byte[] taskToken) {
+        this.taskToken = taskToken;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(Instant claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,134 @@
+package com.hooswhere.onboardFlow.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA entity for email_send_ledger table. A row reserves a workflow step's email while it is being
+ * handed to SES and then records the outcome; only SENT makes retried sends for the step no-ops.
+ */
+@Entity
+@Table(name = "email_send_ledger")
+public class EmailSendLedgerEntity {
+    /*
+    CREATE TABLE IF NOT EXISTS email_send_ledger (
+        id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+        workflow_id VARCHAR(255) NOT NULL,
+        step_number INTEGER NOT NULL,
+        outbox_id UUID,
+        status VARCHAR(20) NOT NULL,
+        message_id VARCHAR(255),
+        created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+        sent_at TIMESTAMP WITH TIME ZONE
+    );
+    CREATE UNIQUE INDEX idx_email_send_ledger_workflow_step ON email_send_ledger(workflow_id, step_number);
+    */
+
+    public enum Status {
+        SENDING,
+        SENT,
+        // SES may or may not have accepted the message (timeout, or the sender died mid-send)
+        UNKNOWN
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "workflow_id", nullable = false)
+    private String workflowId;
+
+    @Column(name = "step_number", nullable = false)
+    private int stepNumber;
+
+    @Column(name = "outbox_id")
+    private UUID outboxId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "message_id")
+    private String messageId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreationTimestamp
+    private Instant createdAt;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getWorkflowId() {
+        return workflowId;
+    }
+
+    public void setWorkflowId(String workflowId) {
+        this.workflowId = workflowId;
+    }
+
+    public int getStepNumber() {
+        return stepNumber;
+    }
+
+    public void setStepNumber(int stepNumber) {
+        this.stepNumber = stepNumber;
+    }
+
+    public UUID getOutboxId() {
+        return outboxId;
+    }
+
+    public void setOutboxId(UUID outboxId) {
+        this.outboxId = outboxId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(Instant sentAt) {
+        this.sentAt = sentAt;
+    }
+}
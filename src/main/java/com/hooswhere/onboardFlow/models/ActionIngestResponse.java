@@ -0,0 +1,12 @@
+package com.hooswhere.onboardFlow.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Result of a user action batch")
+public record ActionIngestResponse(
+    @Schema(description = "Events stored in user_actions")
+    int accepted,
+
+    @Schema(description = "Events dropped for a missing action type or unknown customer")
+    int rejected
+) {}
@@ -0,0 +1,42 @@
+package com.hooswhere.onboardFlow.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "Progress of a bulk signal job")
+public record BulkSignalJobResponse(
+    @Schema(description = "Job identifier")
+    UUID jobId,
+
+    @Schema(description = "Signal being sent")
+    BulkSignalType signal,
+
+    @Schema(description = "RUNNING, COMPLETED or FAILED")
+    String state,
+
+    @Schema(description = "Onboardings selected so far")
+    long matched,
+
+    @Schema(description = "Workflows signalled successfully")
+    long signalled,
+
+    @Schema(description = "Workflows that had already finished and were not signalled")
+    long skipped,
+
+    @Schema(description = "Signals that failed")
+    long failed,
+
+    @Schema(description = "Timestamp when the job started")
+    Instant startedAt,
+
+    @Schema(description = "Timestamp when the job finished")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Instant finishedAt,
+
+    @Schema(description = "Last error seen by the job")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String lastError
+) {}
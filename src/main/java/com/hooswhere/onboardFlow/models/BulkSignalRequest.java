@@ -0,0 +1,28 @@
+package com.hooswhere.onboardFlow.models;
+
+import com.hooswhere.onboardFlow.OnboardingStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Request to signal every onboarding matching a selection")
+public record BulkSignalRequest(
+        @Schema(description = "Signal to send", example = "PAUSE", required = true)
+        @NotNull
+        BulkSignalType signal,
+
+        @Schema(description = "Only onboardings running this email sequence")
+        UUID sequenceId,
+
+        @Schema(description = "Only onboardings in these statuses; defaults to IN_PROGRESS and PAUSED")
+        List<OnboardingStatus> statuses,
+
+        @Schema(description = "Only onboardings started at or after this instant")
+        Instant startedAfter,
+
+        @Schema(description = "Only onboardings started before this instant")
+        Instant startedBefore
+) {}
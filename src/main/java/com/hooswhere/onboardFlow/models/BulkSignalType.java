@@ -0,0 +1,10 @@
+package com.hooswhere.onboardFlow.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Onboarding workflow signal to send in bulk")
+public enum BulkSignalType {
+    PAUSE,
+    RESUME,
+    CANCEL
+}
@@ -1,64 +1,202 @@
 package com.hooswhere.onboardFlow.models;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Variables for rendering one email. The variables every onboarding email has live in slots
+ * indexed by {@link Variable}, so compiled templates resolve them without a map lookup; only
+ * custom variables are kept in a map, which is not allocated when there are none.
+ */
 public class EmailTemplateContext {
-    private final Map<String, Object> variables;
-    
-    private EmailTemplateContext(Map<String, Object> variables) {
-        this.variables = new HashMap<>(variables);
+    private static final Object[] NO_SLOTS = new Object[Variable.COUNT];
+
+    /**
+     * Well-known variables, resolved by slot index instead of by name.
+     */
+    public enum Variable {
+        FIRST_NAME("firstName"),
+        LAST_NAME("lastName"),
+        EMAIL("email"),
+        COMPANY_NAME("companyName"),
+        FULL_NAME("fullName"),
+        WORKFLOW_ID("workflowId"),
+        CURRENT_STEP("currentStep");
+
+        static final int COUNT = values().length;
+
+        private final String variableName;
+
+        Variable(String variableName) {
+            this.variableName = variableName;
+        }
+
+        public String variableName() {
+            return variableName;
+        }
+
+        /**
+         * The well-known variable with this name, or null for a custom variable.
+         */
+        public static Variable forName(String name) {
+            return switch (name) {
+                case "firstName" -> FIRST_NAME;
+                case "lastName" -> LAST_NAME;
+                case "email" -> EMAIL;
+                case "companyName" -> COMPANY_NAME;
+                case "fullName" -> FULL_NAME;
+                case "workflowId" -> WORKFLOW_ID;
+                case "currentStep" -> CURRENT_STEP;
+                default -> null;
+            };
+        }
+    }
+
+    private final Object[] slots;
+    // currentStep is kept unboxed unless it was put as an object
+    private final int currentStep;
+    private final boolean hasCurrentStep;
+    private final Map<String, Object> custom;
+
+    private EmailTemplateContext(Object[] slots, int currentStep, boolean hasCurrentStep, Map<String, Object> custom) {
+        this.slots = slots;
+        this.currentStep = currentStep;
+        this.hasCurrentStep = hasCurrentStep;
+        this.custom = custom;
     }
-    
+
     public static Builder builder() {
         return new Builder();
     }
-    
+
     public Object get(String key) {
-        return variables.get(key);
+        Variable variable = Variable.forName(key);
+        if (variable != null) {
+            return get(variable);
+        }
+        return custom.get(key);
     }
-    
+
+    public Object get(Variable variable) {
+        Object value = slots[variable.ordinal()];
+        if (value == null && variable == Variable.CURRENT_STEP && hasCurrentStep) {
+            return currentStep;
+        }
+        return value;
+    }
+
     public String getString(String key) {
-        Object value = variables.get(key);
+        Object value = get(key);
         return value != null ? value.toString() : null;
     }
-    
+
+    /**
+     * Append the value of a well-known variable, or nothing when it is not set.
+     */
+    public void appendTo(StringBuilder target, Variable variable) {
+        Object value = slots[variable.ordinal()];
+        if (value != null) {
+            target.append(value);
+        } else if (variable == Variable.CURRENT_STEP && hasCurrentStep) {
+            target.append(currentStep);
+        }
+    }
+
+    /**
+     * Append the value of a variable looked up by name, or nothing when it is not set.
+     */
+    public void appendTo(StringBuilder target, String key) {
+        Variable variable = Variable.forName(key);
+        if (variable != null) {
+            appendTo(target, variable);
+            return;
+        }
+        Object value = custom.get(key);
+        if (value != null) {
+            target.append(value);
+        }
+    }
+
+    /**
+     * All variables as a new map. Rendering does not use this; it reads slots directly.
+     */
     public Map<String, Object> getVariables() {
-        return new HashMap<>(variables);
+        Map<String, Object> variables = new HashMap<>(custom);
+        for (Variable variable : Variable.values()) {
+            Object value = get(variable);
+            if (value != null) {
+                variables.put(variable.variableName(), value);
+            }
+        }
+        return variables;
     }
-    
+
     public static class Builder {
-        private final Map<String, Object> variables = new HashMap<>();
-        
+        private Object[] slots = NO_SLOTS;
+        private int currentStep;
+        private boolean hasCurrentStep;
+        private Map<String, Object> custom;
+
         public Builder put(String key, Object value) {
-            variables.put(key, value);
+            Variable variable = Variable.forName(key);
+            if (variable == Variable.CURRENT_STEP) {
+                // An explicit value, even null, replaces the one set by workflow()
+                hasCurrentStep = false;
+            }
+            if (variable != null) {
+                setSlot(variable, value);
+            } else {
+                if (custom == null) {
+                    custom = new HashMap<>();
+                }
+                custom.put(key, value);
+            }
             return this;
         }
-        
+
         public Builder customer(String firstName, String lastName, String email, String companyName) {
-            variables.put("firstName", firstName);
-            variables.put("lastName", lastName);
-            variables.put("email", email);
-            variables.put("companyName", companyName);
-            variables.put("fullName", (firstName + " " + lastName).trim());
+            setSlot(Variable.FIRST_NAME, firstName);
+            setSlot(Variable.LAST_NAME, lastName);
+            setSlot(Variable.EMAIL, email);
+            setSlot(Variable.COMPANY_NAME, companyName);
+            setSlot(Variable.FULL_NAME, (firstName + " " + lastName).trim());
             return this;
         }
-        
+
         public Builder workflow(String workflowId, int currentStep) {
-            variables.put("workflowId", workflowId);
-            variables.put("currentStep", currentStep);
+            setSlot(Variable.WORKFLOW_ID, workflowId);
+            setSlot(Variable.CURRENT_STEP, null);
+            this.currentStep = currentStep;
+            this.hasCurrentStep = true;
             return this;
         }
-        
+
         public Builder putAll(Map<String, Object> additionalVariables) {
             if (additionalVariables != null) {
-                variables.putAll(additionalVariables);
+                additionalVariables.forEach(this::put);
             }
             return this;
         }
-        
+
         public EmailTemplateContext build() {
-            return new EmailTemplateContext(variables);
+            // Copy so that a builder reused after build() does not change built contexts
+            return new EmailTemplateContext(
+                    slots == NO_SLOTS ? NO_SLOTS : slots.clone(),
+                    currentStep,
+                    hasCurrentStep,
+                    custom == null ? Collections.emptyMap() : new HashMap<>(custom));
+        }
+
+        private void setSlot(Variable variable, Object value) {
+            if (slots == NO_SLOTS) {
+                if (value == null) {
+                    return;
+                }
+                slots = Arrays.copyOf(NO_SLOTS, Variable.COUNT);
+            }
+            slots[variable.ordinal()] = value;
         }
     }
-}
\ No newline at end of file
+}
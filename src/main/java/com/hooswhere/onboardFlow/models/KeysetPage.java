@@ -0,0 +1,26 @@
+package com.hooswhere.onboardFlow.models;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. {@code nextCursor} is null on the last page.
+ */
+public record KeysetPage<T>(List<T> items, PageCursor nextCursor) {
+
+    /**
+     * Build a page from a query that read {@code limit + 1} rows; the extra row only signals
+     * that another page follows.
+     */
+    public static <T> KeysetPage<T> fromOverfetch(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,11 @@
+package com.hooswhere.onboardFlow.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Amount of detail returned by list endpoints")
+public enum ListView {
+    @Schema(description = "Every field, including template bodies and sequence steps")
+    FULL,
+    @Schema(description = "Metadata only; template bodies and sequence steps are left out")
+    SUMMARY
+}
@@ -0,0 +1,34 @@
+package com.hooswhere.onboardFlow.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "A start request accepted into the onboarding intake")
+public record OnboardingIntakeResponse(
+    @Schema(description = "Tracking identifier of the request")
+    UUID intakeId,
+
+    @Schema(description = "PENDING, STARTING, STARTED, REJECTED or FAILED")
+    String status,
+
+    @Schema(description = "Start attempts so far")
+    int attempts,
+
+    @Schema(description = "Workflow ID once the onboarding has started")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String workflowId,
+
+    @Schema(description = "Why the last start attempt failed or the request was rejected")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String lastError,
+
+    @Schema(description = "Timestamp when the request was accepted")
+    Instant acceptedAt,
+
+    @Schema(description = "Timestamp when the request was started, rejected or given up on")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Instant completedAt
+) {}
@@ -0,0 +1,15 @@
+package com.hooswhere.onboardFlow.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Page of onboardings matching the query")
+public record OnboardingListResponse(
+    @Schema(description = "Onboardings, most recently started first")
+    List<OnboardingSummary> onboardings,
+
+    @Schema(description = "Cursor for the next page, absent on the last page")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String nextCursor
+) {}
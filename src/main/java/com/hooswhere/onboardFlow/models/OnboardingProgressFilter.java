@@ -0,0 +1,19 @@
+package com.hooswhere.onboardFlow.models;
+
+import com.hooswhere.onboardFlow.OnboardingStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Optional criteria for listing onboardings; null or empty fields are not filtered on.
+ * {@code startedAfter} is inclusive and {@code startedBefore} exclusive.
+ */
+public record OnboardingProgressFilter(
+    List<OnboardingStatus> statuses,
+    UUID sequenceId,
+    UUID customerId,
+    Instant startedAfter,
+    Instant startedBefore
+) {}
@@ -0,0 +1,34 @@
+package com.hooswhere.onboardFlow.models;
+
+import com.hooswhere.onboardFlow.OnboardingStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "Onboarding progress row as listed by the query API")
+public record OnboardingSummary(
+    @Schema(description = "UUID of the onboarding progress record")
+    UUID id,
+
+    @Schema(description = "Temporal workflow ID running this onboarding")
+    String workflowId,
+
+    @Schema(description = "UUID of the customer being onboarded")
+    UUID customerId,
+
+    @Schema(description = "UUID of the email sequence")
+    UUID sequenceId,
+
+    @Schema(description = "Current onboarding status")
+    OnboardingStatus status,
+
+    @Schema(description = "Last email step reached", example = "2")
+    int currentStep,
+
+    @Schema(description = "Timestamp when the onboarding started")
+    Instant startedAt,
+
+    @Schema(description = "Timestamp when the onboarding finished, if it has")
+    Instant completedAt
+) {}
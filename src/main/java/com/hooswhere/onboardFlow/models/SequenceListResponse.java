@@ -1,10 +1,15 @@
 package com.hooswhere.onboardFlow.models;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.List;
 
 @Schema(description = "List of email sequences")
 public record SequenceListResponse(
     @Schema(description = "Collection of email sequences")
-    List<SequenceResponse> sequences
+    List<SequenceResponse> sequences,
+
+    @Schema(description = "Cursor for the next page, absent on the last page")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String nextCursor
 ) {}
\ No newline at end of file
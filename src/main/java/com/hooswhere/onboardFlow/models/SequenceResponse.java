@@ -1,5 +1,6 @@
 package com.hooswhere.onboardFlow.models;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.List;
 import java.util.UUID;
@@ -21,6 +22,7 @@ public record SequenceResponse(
     @Schema(description = "Maximum duration of the sequence in days")
     int maxDurationDays,
 
-    @Schema(description = "Ordered list of steps in this sequence")
+    @Schema(description = "Ordered list of steps in this sequence, omitted in summary lists")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     List<StepResponse> steps
 ) {}
\ No newline at end of file
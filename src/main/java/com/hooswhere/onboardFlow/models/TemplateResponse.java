@@ -1,5 +1,6 @@
 package com.hooswhere.onboardFlow.models;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.Instant;
 
@@ -14,10 +15,12 @@ public record TemplateResponse(
     @Schema(description = "Email subject line", example = "Welcome to {{companyName}}, {{firstName}}!")
     String subject,
 
-    @Schema(description = "HTML body content of the email")
+    @Schema(description = "HTML body content of the email, omitted in summary lists")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     String htmlBody,
 
-    @Schema(description = "Text body content of the email")
+    @Schema(description = "Text body content of the email, omitted in summary lists")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     String textBody,
 
     @Schema(description = "Whether the template is active or not")
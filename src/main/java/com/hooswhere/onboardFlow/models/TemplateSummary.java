@@ -0,0 +1,18 @@
+package com.hooswhere.onboardFlow.models;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Email template columns without the HTML and text bodies, read directly by the summary list query.
+ */
+public record TemplateSummary(
+    UUID id,
+    String slug,
+    String name,
+    String subject,
+    boolean isActive,
+    int version,
+    Instant createdAt,
+    Instant updatedAt
+) {}
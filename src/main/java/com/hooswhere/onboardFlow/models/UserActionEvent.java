@@ -0,0 +1,27 @@
+package com.hooswhere.onboardFlow.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+@Schema(description = "Product activity event for a customer")
+public record UserActionEvent(
+        @Schema(description = "UUID of the customer", required = true)
+        UUID customerId,
+
+        @Schema(description = "Action type; login, feature_used and trial_converted are forwarded to onboarding workflows",
+                example = "login", required = true)
+        String actionType,
+
+        @Schema(description = "When the action happened; defaults to the time of ingestion")
+        Instant occurredAt,
+
+        @Schema(description = "Free-form action details")
+        Map<String, Object> data
+) {
+    public static final String LOGIN = "login";
+    public static final String FEATURE_USED = "feature_used";
+    public static final String TRIAL_CONVERTED = "trial_converted";
+}
@@ -2,10 +2,20 @@ package com.hooswhere.onboardFlow.repository;
 
 import com.hooswhere.onboardFlow.entity.CustomerEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface CustomerRepository extends JpaRepository<CustomerEntity, UUID> {
     Optional<CustomerEntity> findByEmail(String email);
+
+    /**
+     * The subset of the given ids that belong to existing customers.
+     */
+    @Query("SELECT c.id FROM CustomerEntity c WHERE c.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
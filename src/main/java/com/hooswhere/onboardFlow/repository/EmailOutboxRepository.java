@@ -0,0 +1,31 @@
+package com.hooswhere.onboardFlow.repository;
+
+import com.hooswhere.onboardFlow.entity.EmailOutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for EmailOutboxEntity CRUD operations.
+ */
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxEntity, UUID> {
+
+    /**
+     * Lock the next batch of claimable rows: pending rows that are not deferred, plus rows claimed
+     * by a sender that never reported back (e.g. the pod died mid-send). Must run inside a transaction.
+     */
+    @Query(value = """
+        SELECT * FROM email_outbox
+        WHERE (status = 'PENDING' AND (next_attempt_at IS NULL OR next_attempt_at <= :now))
+           OR (status = 'SENDING' AND claimed_at < :staleBefore)
+        ORDER BY created_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<EmailOutboxEntity> lockNextBatch(@Param("now") Instant now, @Param("staleBefore") Instant staleBefore,
+                                          @Param("limit") int limit);
+}
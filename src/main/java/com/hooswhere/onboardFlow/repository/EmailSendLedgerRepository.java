@@ -0,0 +1,55 @@
+package com.hooswhere.onboardFlow.repository;
+
+import com.hooswhere.onboardFlow.entity.EmailSendLedgerEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for EmailSendLedgerEntity CRUD operations.
+ */
+public interface EmailSendLedgerRepository extends JpaRepository<EmailSendLedgerEntity, UUID> {
+
+    boolean existsByWorkflowIdAndStepNumberAndStatus(String workflowId, int stepNumber, EmailSendLedgerEntity.Status status);
+
+    Optional<EmailSendLedgerEntity> findByWorkflowIdAndStepNumber(String workflowId, int stepNumber);
+
+    /**
+     * Reserve a workflow step for sending. Returns 1 if this caller won the reservation and 0 if
+     * the step was already reserved or sent; the unique index makes this safe across pods.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO email_send_ledger (workflow_id, step_number, outbox_id, status)
+        VALUES (:workflowId, :stepNumber, :outboxId, 'SENDING')
+        ON CONFLICT (workflow_id, step_number) DO NOTHING
+        """, nativeQuery = true)
+    int reserve(@Param("workflowId") String workflowId, @Param("stepNumber") int stepNumber, @Param("outboxId") UUID outboxId);
+
+    @Modifying
+    @Query("""
+        UPDATE EmailSendLedgerEntity l
+        SET l.status = :status, l.messageId = :messageId, l.sentAt = :sentAt
+        WHERE l.workflowId = :workflowId AND l.stepNumber = :stepNumber
+        """)
+    int markSent(@Param("workflowId") String workflowId, @Param("stepNumber") int stepNumber,
+                 @Param("status") EmailSendLedgerEntity.Status status, @Param("messageId") String messageId,
+                 @Param("sentAt") Instant sentAt);
+
+    @Modifying
+    @Query("""
+        UPDATE EmailSendLedgerEntity l
+        SET l.status = :status
+        WHERE l.workflowId = :workflowId AND l.stepNumber = :stepNumber
+        """)
+    int updateStatus(@Param("workflowId") String workflowId, @Param("stepNumber") int stepNumber,
+                     @Param("status") EmailSendLedgerEntity.Status status);
+
+    @Modifying
+    int deleteByWorkflowIdAndStepNumber(String workflowId, int stepNumber);
+}
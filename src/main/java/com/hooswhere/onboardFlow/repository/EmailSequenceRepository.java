@@ -1,7 +1,12 @@
 package com.hooswhere.onboardFlow.repository;
 
 import com.hooswhere.onboardFlow.entity.EmailSequenceEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,4 +25,20 @@ public interface EmailSequenceRepository extends JpaRepository<EmailSequenceEnti
      * Find all sequences ordered by creation date.
      */
     List<EmailSequenceEntity> findAllByOrderByCreatedAtDesc();
+    
+    /**
+     * First page of sequences in (created_at DESC, id DESC) order. Steps are loaded lazily.
+     */
+    @Query("SELECT s FROM EmailSequenceEntity s ORDER BY s.createdAt DESC, s.id DESC")
+    List<EmailSequenceEntity> findFirstPage(Limit limit);
+    
+    /**
+     * Sequences after the given keyset position in (created_at DESC, id DESC) order.
+     */
+    @Query("""
+        SELECT s FROM EmailSequenceEntity s
+        WHERE s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.id < :id)
+        ORDER BY s.createdAt DESC, s.id DESC
+        """)
+    List<EmailSequenceEntity> findPageAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
 }
\ No newline at end of file
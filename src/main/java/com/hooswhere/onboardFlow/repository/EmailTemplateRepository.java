@@ -1,10 +1,13 @@
 package com.hooswhere.onboardFlow.repository;
 
 import com.hooswhere.onboardFlow.entity.EmailTemplateEntity;
+import com.hooswhere.onboardFlow.models.TemplateSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,6 +27,45 @@ public interface EmailTemplateRepository extends JpaRepository<EmailTemplateEnti
      */
     List<EmailTemplateEntity> findAllByOrderByCreatedAtDesc();
     
+    /**
+     * First page of templates in (created_at DESC, id DESC) order.
+     */
+    @Query("SELECT t FROM EmailTemplateEntity t ORDER BY t.createdAt DESC, t.id DESC")
+    List<EmailTemplateEntity> findFirstPage(Limit limit);
+    
+    /**
+     * Templates after the given keyset position in (created_at DESC, id DESC) order.
+     */
+    @Query("""
+        SELECT t FROM EmailTemplateEntity t
+        WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    List<EmailTemplateEntity> findPageAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+    
+    /**
+     * Same as {@link #findFirstPage} without reading the body columns.
+     */
+    @Query("""
+        SELECT new com.hooswhere.onboardFlow.models.TemplateSummary(
+            t.id, t.slug, t.name, t.subject, t.isActive, t.version, t.createdAt, t.updatedAt)
+        FROM EmailTemplateEntity t
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    List<TemplateSummary> findFirstSummaryPage(Limit limit);
+    
+    /**
+     * Same as {@link #findPageAfter} without reading the body columns.
+     */
+    @Query("""
+        SELECT new com.hooswhere.onboardFlow.models.TemplateSummary(
+            t.id, t.slug, t.name, t.subject, t.isActive, t.version, t.createdAt, t.updatedAt)
+        FROM EmailTemplateEntity t
+        WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    List<TemplateSummary> findSummaryPageAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+    
     /**
      * Find template by slug.
      */
@@ -0,0 +1,42 @@
+package com.hooswhere.onboardFlow.repository;
+
+import com.hooswhere.onboardFlow.entity.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for IdempotencyKeyEntity CRUD operations.
+ */
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, UUID> {
+
+    Optional<IdempotencyKeyEntity> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Claim a key for a request about to run. Returns 1 if this caller won the key and 0 if it is
+     * taken. Expired keys, keys left in progress by a request that never finished, and failed keys
+     * retried with the same request are taken over.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO idempotency_keys (idempotency_key, request_hash, status)
+        VALUES (:key, :requestHash, 'IN_PROGRESS')
+        ON CONFLICT (idempotency_key) DO UPDATE
+        SET request_hash = EXCLUDED.request_hash, status = 'IN_PROGRESS', response_status = NULL,
+            response_body = NULL, response_location = NULL, created_at = CURRENT_TIMESTAMP, completed_at = NULL
+        WHERE idempotency_keys.created_at < :expiredBefore
+           OR (idempotency_keys.status = 'IN_PROGRESS' AND idempotency_keys.created_at < :staleBefore)
+           OR (idempotency_keys.status = 'FAILED' AND idempotency_keys.request_hash = EXCLUDED.request_hash)
+        """, nativeQuery = true)
+    int claim(@Param("key") String key, @Param("requestHash") String requestHash,
+              @Param("expiredBefore") Instant expiredBefore, @Param("staleBefore") Instant staleBefore);
+
+    @Modifying
+    @Query("UPDATE IdempotencyKeyEntity k SET k.status = :status WHERE k.idempotencyKey = :key")
+    int updateStatus(@Param("key") String key, @Param("status") IdempotencyKeyEntity.Status status);
+}
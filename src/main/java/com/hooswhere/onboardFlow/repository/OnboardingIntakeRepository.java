@@ -0,0 +1,31 @@
+package com.hooswhere.onboardFlow.repository;
+
+import com.hooswhere.onboardFlow.entity.OnboardingIntakeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for OnboardingIntakeEntity CRUD operations.
+ */
+public interface OnboardingIntakeRepository extends JpaRepository<OnboardingIntakeEntity, UUID> {
+
+    /**
+     * Lock the next batch of startable rows: pending rows whose retry delay has passed, plus rows
+     * claimed by a starter that never reported back. Must run inside a transaction.
+     */
+    @Query(value = """
+        SELECT * FROM onboarding_intake
+        WHERE (status = 'PENDING' AND (next_attempt_at IS NULL OR next_attempt_at <= :now))
+           OR (status = 'STARTING' AND claimed_at < :staleBefore)
+        ORDER BY created_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<OnboardingIntakeEntity> lockNextBatch(@Param("now") Instant now, @Param("staleBefore") Instant staleBefore,
+                                               @Param("limit") int limit);
+}
@@ -0,0 +1,20 @@
+package com.hooswhere.onboardFlow.repository;
+
+import com.hooswhere.onboardFlow.models.OnboardingProgressFilter;
+import com.hooswhere.onboardFlow.models.OnboardingSummary;
+import com.hooswhere.onboardFlow.models.PageCursor;
+
+import java.util.List;
+
+/**
+ * Dynamic onboarding_progress queries that Spring Data cannot derive from method names.
+ */
+public interface OnboardingProgressQueries {
+
+    /**
+     * Up to {@code limit} onboardings matching the filter in (started_at DESC, id DESC) order,
+     * starting after {@code after} when it is set. Only the summary columns are selected so the
+     * query can be answered from the covering indexes.
+     */
+    List<OnboardingSummary> findSummaries(OnboardingProgressFilter filter, PageCursor after, int limit);
+}
@@ -0,0 +1,72 @@
+package com.hooswhere.onboardFlow.repository;
+
+import com.hooswhere.onboardFlow.entity.OnboardingProgressEntity;
+import com.hooswhere.onboardFlow.models.OnboardingProgressFilter;
+import com.hooswhere.onboardFlow.models.OnboardingSummary;
+import com.hooswhere.onboardFlow.models.PageCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class OnboardingProgressQueriesImpl implements OnboardingProgressQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OnboardingSummary> findSummaries(OnboardingProgressFilter filter, PageCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OnboardingSummary> query = cb.createQuery(OnboardingSummary.class);
+        Root<OnboardingProgressEntity> progress = query.from(OnboardingProgressEntity.class);
+        Path<Instant> startedAt = progress.get("startedAt");
+        Path<UUID> id = progress.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.statuses() != null && !filter.statuses().isEmpty()) {
+            predicates.add(progress.get("status").in(filter.statuses()));
+        }
+        if (filter.sequenceId() != null) {
+            predicates.add(cb.equal(progress.get("sequenceId"), filter.sequenceId()));
+        }
+        if (filter.customerId() != null) {
+            predicates.add(cb.equal(progress.get("customerId"), filter.customerId()));
+        }
+        if (filter.startedAfter() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(startedAt, filter.startedAfter()));
+        }
+        if (filter.startedBefore() != null) {
+            predicates.add(cb.lessThan(startedAt, filter.startedBefore()));
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(startedAt, after.timestamp()),
+                    cb.and(cb.equal(startedAt, after.timestamp()), cb.lessThan(id, after.id()))
+            ));
+        }
+
+        query.select(cb.construct(OnboardingSummary.class,
+                        id,
+                        progress.get("workflowId"),
+                        progress.get("customerId"),
+                        progress.get("sequenceId"),
+                        progress.get("status"),
+                        progress.get("currentStep"),
+                        startedAt,
+                        progress.get("completedAt")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(startedAt), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
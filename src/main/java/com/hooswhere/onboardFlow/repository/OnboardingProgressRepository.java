@@ -1,13 +1,22 @@
 package com.hooswhere.onboardFlow.repository;
 
+import com.hooswhere.onboardFlow.OnboardingStatus;
 import com.hooswhere.onboardFlow.entity.OnboardingProgressEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface OnboardingProgressRepository extends JpaRepository<OnboardingProgressEntity, UUID>{
+public interface OnboardingProgressRepository extends JpaRepository<OnboardingProgressEntity, UUID>, OnboardingProgressQueries {
+    Optional<OnboardingProgressEntity> findByWorkflowId(String workflowId);
+
+    List<OnboardingProgressEntity> findByCustomerIdInAndStatusIn(Collection<UUID> customerIds, Collection<OnboardingStatus> statuses);
+
+
     @Query("""
         SELECT CASE WHEN COUNT(op) > 0 THEN true ELSE false END 
         FROM OnboardingProgressEntity op 
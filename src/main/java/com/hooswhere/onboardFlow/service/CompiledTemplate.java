@@ -0,0 +1,75 @@
+package com.hooswhere.onboardFlow.service;
+
+import com.hooswhere.onboardFlow.models.EmailTemplateContext;
+import com.hooswhere.onboardFlow.models.EmailTemplateContext.Variable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A template split once into literal text and placeholders. Well-known variables are resolved
+ * by slot index, so rendering is a single pass into a presized builder with no regex matching.
+ */
+final class CompiledTemplate {
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{\\{([^}]+)\\}\\}");
+
+    // literals[i] precedes placeholder i; the last literal follows the last placeholder
+    private final String[] literals;
+    // For each placeholder, its slot, or null for a custom variable named in customNames
+    private final Variable[] variables;
+    private final String[] customNames;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, Variable[] variables, String[] customNames, int literalLength) {
+        this.literals = literals;
+        this.variables = variables;
+        this.customNames = customNames;
+        this.literalLength = literalLength;
+    }
+
+    static CompiledTemplate compile(String content) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        Matcher matcher = VARIABLE_PATTERN.matcher(content);
+        int last = 0;
+        int literalLength = 0;
+        while (matcher.find()) {
+            String literal = content.substring(last, matcher.start());
+            literals.add(literal);
+            literalLength += literal.length();
+            names.add(matcher.group(1).trim());
+            last = matcher.end();
+        }
+        String tail = content.substring(last);
+        literals.add(tail);
+        literalLength += tail.length();
+
+        Variable[] variables = new Variable[names.size()];
+        String[] customNames = new String[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            variables[i] = Variable.forName(names.get(i));
+            customNames[i] = variables[i] == null ? names.get(i) : null;
+        }
+        return new CompiledTemplate(literals.toArray(String[]::new), variables, customNames, literalLength);
+    }
+
+    String render(EmailTemplateContext context) {
+        if (variables.length == 0) {
+            return literals[0];
+        }
+        // Sixteen characters per placeholder covers names, emails and ids without regrowing
+        StringBuilder result = new StringBuilder(literalLength + variables.length * 16);
+        for (int i = 0; i < variables.length; i++) {
+            result.append(literals[i]);
+            if (variables[i] != null) {
+                context.appendTo(result, variables[i]);
+            } else {
+                context.appendTo(result, customNames[i]);
+            }
+        }
+        result.append(literals[variables.length]);
+        return result.toString();
+    }
+}
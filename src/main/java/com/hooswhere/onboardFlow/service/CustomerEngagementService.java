@@ -0,0 +1,78 @@
+package com.hooswhere.onboardFlow.service;
+
+import com.hooswhere.onboardFlow.config.Roles;
+import com.hooswhere.onboardFlow.models.UserActionEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * What a customer has done since their onboarding started, read in one query keyed by the
+ * onboarding_progress row. Backs the send conditions of sequence steps.
+ */
+@Service
+@Profile({Roles.WORKER, Roles.ALL})
+public class CustomerEngagementService {
+    // A login older than this does not count as recent
+    private static final Duration RECENT_LOGIN_WINDOW = Duration.ofDays(7);
+
+    private static final String SELECT_SQL = """
+        SELECT EXISTS (SELECT 1 FROM user_actions ua
+                       WHERE ua.customer_id = op.customer_id AND ua.occurred_at >= op.started_at) AS active,
+               EXISTS (SELECT 1 FROM user_actions ua
+                       WHERE ua.customer_id = op.customer_id AND ua.action_type = ? AND ua.occurred_at >= ?) AS recent_login,
+               EXISTS (SELECT 1 FROM user_actions ua
+                       WHERE ua.customer_id = op.customer_id AND ua.action_type = ? AND ua.occurred_at >= op.started_at) AS feature_used,
+               op.status = 'CONVERTED'
+                   OR EXISTS (SELECT 1 FROM user_actions ua
+                              WHERE ua.customer_id = op.customer_id AND ua.action_type = ?) AS converted,
+               EXISTS (SELECT 1 FROM email_events ee
+                       WHERE ee.onboarding_progress_id = op.id AND ee.event_type = 'opened') AS email_opened
+        FROM onboarding_progress op
+        """;
+
+    private static final RowMapper<Engagement> ENGAGEMENT_MAPPER = (rs, rowNum) -> new Engagement(
+            rs.getBoolean("active"),
+            rs.getBoolean("recent_login"),
+            rs.getBoolean("feature_used"),
+            rs.getBoolean("converted"),
+            rs.getBoolean("email_opened"));
+
+    public record Engagement(
+            boolean activeSinceStart,
+            boolean recentLogin,
+            boolean featureUsed,
+            boolean converted,
+            boolean emailOpened
+    ) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomerEngagementService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Engagement for the onboarding with this progress id, or with this workflow id when the
+     * progress id is null. Empty when there is no such onboarding.
+     */
+    public Optional<Engagement> find(UUID progressId, String workflowId) {
+        Timestamp recentLoginSince = Timestamp.from(Instant.now().minus(RECENT_LOGIN_WINDOW));
+        List<Engagement> rows = progressId != null
+                ? jdbcTemplate.query(SELECT_SQL + "WHERE op.id = ?", ENGAGEMENT_MAPPER,
+                        UserActionEvent.LOGIN, recentLoginSince, UserActionEvent.FEATURE_USED,
+                        UserActionEvent.TRIAL_CONVERTED, progressId)
+                : jdbcTemplate.query(SELECT_SQL + "WHERE op.workflow_id = ?", ENGAGEMENT_MAPPER,
+                        UserActionEvent.LOGIN, recentLoginSince, UserActionEvent.FEATURE_USED,
+                        UserActionEvent.TRIAL_CONVERTED, workflowId);
+        return rows.stream().findFirst();
+    }
+}
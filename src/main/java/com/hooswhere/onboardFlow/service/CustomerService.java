@@ -1,18 +1,33 @@
 package com.hooswhere.onboardFlow.service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.hooswhere.onboardFlow.entity.CustomerEntity;
 import com.hooswhere.onboardFlow.models.CustomerRequest;
 import com.hooswhere.onboardFlow.repository.CustomerRepository;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class CustomerService {
+    private static final int DETAILS_CACHE_SIZE = 10_000;
+    // Bounds how long a worker keeps rendering a customer's old name after an update made elsewhere
+    private static final Duration DETAILS_CACHE_TTL = Duration.ofMinutes(5);
+
     private final CustomerRepository customerRepository;
+    private final Cache<UUID, CustomerRequest> details;
 
     public CustomerService(CustomerRepository customerRepository) {
         this.customerRepository = customerRepository;
+        this.details = CacheBuilder.newBuilder()
+                .maximumSize(DETAILS_CACHE_SIZE)
+                .expireAfterWrite(DETAILS_CACHE_TTL)
+                .build();
     }
 
     public CustomerEntity createOrUpdateCustomer(CustomerRequest customerRequest) {
@@ -25,6 +40,7 @@ public class CustomerService {
             existingCustomer.setLastName(customerRequest.lastName());
             existingCustomer.setCompanyName(customerRequest.companyName());
             existingCustomer.setMetadata(customerRequest.metadata());
+            details.invalidate(existingCustomer.getId());
             return customerRepository.save(existingCustomer);
         } else {
             // Create new customer
@@ -37,4 +53,30 @@ public class CustomerService {
             return customerRepository.save(newCustomer);
         }
     }
+
+    /**
+     * Details of the customer with this id, for activities that are passed only the id.
+     * Cached, so the emails of one onboarding cost a single customer lookup per worker.
+     */
+    public Optional<CustomerRequest> getDetails(UUID customerId) {
+        CustomerRequest cached = details.getIfPresent(customerId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<CustomerRequest> loaded = customerRepository.findById(customerId).map(CustomerService::toDetails);
+        loaded.ifPresent(customer -> details.put(customerId, customer));
+        return loaded;
+    }
+
+    private static CustomerRequest toDetails(CustomerEntity entity) {
+        return new CustomerRequest(
+                entity.getEmail(),
+                entity.getFirstName(),
+                entity.getLastName(),
+                entity.getCompanyName(),
+                entity.getSignupDate() != null
+                        ? LocalDateTime.ofInstant(entity.getSignupDate(), ZoneId.systemDefault())
+                        : null,
+                entity.getMetadata());
+    }
 }
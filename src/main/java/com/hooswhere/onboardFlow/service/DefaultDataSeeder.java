@@ -0,0 +1,45 @@
+package com.hooswhere.onboardFlow.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Loads the default templates and sequences from {@code default-data.sql} once the application is
+ * ready, instead of while services are being constructed. Each statement in the script only
+ * inserts into empty tables and resolves conflicts with ON CONFLICT DO NOTHING, so restarts and
+ * pods starting together are no-ops. Disable with {@code onboard.seed.enabled=false}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "onboard.seed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DefaultDataSeeder {
+    private static final Logger logger = LoggerFactory.getLogger(DefaultDataSeeder.class);
+
+    private static final String SCRIPT = "default-data.sql";
+
+    private final DataSource dataSource;
+
+    public DefaultDataSeeder(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        long started = System.nanoTime();
+        try {
+            DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource(SCRIPT)), dataSource);
+            logger.info("Default templates and sequences seeded in {} ms", (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            // The application works without defaults; do not take the pod down over them
+            logger.error("Failed to seed default templates and sequences", e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.hooswhere.onboardFlow.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hooswhere.onboardFlow.config.Roles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@Profile({Roles.WORKER, Roles.ALL})
+public class EmailEventService {
+    private static final Logger logger = LoggerFactory.getLogger(EmailEventService.class);
+
+    private static final String INSERT_SQL = """
+        INSERT INTO email_events (customer_id, onboarding_progress_id, event_type, email_template_id, event_data)
+        VALUES (?, ?, ?, ?, ?::jsonb)
+        """;
+
+    // Resolves both keys from the progress row, for workflows started before they were passed along
+    private static final String INSERT_BY_WORKFLOW_SQL = """
+        INSERT INTO email_events (customer_id, onboarding_progress_id, event_type, email_template_id, event_data)
+        SELECT op.customer_id, op.id, ?, ?, ?::jsonb
+        FROM onboarding_progress op
+        WHERE op.workflow_id = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public EmailEventService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Store an email event for a workflow step. With a progress id this is a single insert; without
+     * one the customer and progress are resolved by workflow id in the same statement.
+     */
+    public void record(UUID customerId, UUID progressId, String workflowId, int stepNumber,
+                       String eventType, String emailTemplateId, Map<String, Object> eventData) {
+        Map<String, Object> data = new HashMap<>(eventData != null ? eventData : Map.of());
+        data.put("workflowId", workflowId);
+        data.put("stepNumber", stepNumber);
+        String json = toJson(data);
+
+        if (progressId != null) {
+            jdbcTemplate.update(INSERT_SQL, customerId, progressId, eventType, emailTemplateId, json);
+            return;
+        }
+        int inserted = jdbcTemplate.update(INSERT_BY_WORKFLOW_SQL, eventType, emailTemplateId, json, workflowId);
+        if (inserted == 0) {
+            logger.warn("No onboarding progress row for workflow: {}, {} event not stored", workflowId, eventType);
+        }
+    }
+
+    private String toJson(Map<String, Object> data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event data is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.hooswhere.onboardFlow.service;
+
+import com.hooswhere.onboardFlow.config.Roles;
+import com.hooswhere.onboardFlow.entity.EmailOutboxEntity;
+import com.hooswhere.onboardFlow.models.EmailTemplate;
+import com.hooswhere.onboardFlow.repository.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@Profile({Roles.WORKER, Roles.ALL})
+public class EmailOutboxService {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final TraceContextService traceContextService;
+
+    public EmailOutboxService(EmailOutboxRepository outboxRepository, TraceContextService traceContextService) {
+        this.outboxRepository = outboxRepository;
+        this.traceContextService = traceContextService;
+    }
+
+    /**
+     * Queue a rendered email for the send dispatcher. The task token identifies the activity
+     * the dispatcher completes once SES has accepted or rejected the message.
+     */
+    @Transactional
+    public UUID enqueue(String workflowId, int stepNumber, UUID customerId, String toEmail, String toName,
+                        EmailTemplate renderedTemplate, Map<String, String> emailTags, byte[] taskToken) {
+        EmailOutboxEntity message = new EmailOutboxEntity();
+        message.setWorkflowId(workflowId);
+        message.setStepNumber(stepNumber);
+        message.setCustomerId(customerId);
+        message.setEmailTemplateId(renderedTemplate.templateId());
+        message.setToEmail(toEmail);
+        message.setToName(toName);
+        message.setSubject(renderedTemplate.subject());
+        message.setHtmlBody(renderedTemplate.htmlBody());
+        message.setTextBody(renderedTemplate.textBody());
+        message.setEmailTags(emailTags);
+        message.setTraceContext(traceContextService.capture());
+        message.setTaskToken(taskToken);
+        message.setStatus(EmailOutboxEntity.Status.PENDING);
+        return outboxRepository.save(message).getId();
+    }
+
+    /**
+     * Claim up to {@code limit} messages for sending. Rows are locked with SKIP LOCKED so several
+     * dispatchers can drain the outbox without handing out the same message twice.
+     */
+    @Transactional
+    public List<EmailOutboxEntity> claimBatch(int limit, Duration claimTimeout) {
+        Instant now = Instant.now();
+        List<EmailOutboxEntity> batch = outboxRepository.lockNextBatch(now, now.minus(claimTimeout), limit);
+        for (EmailOutboxEntity message : batch) {
+            if (message.getStatus() == EmailOutboxEntity.Status.SENDING) {
+                logger.warn("Reclaiming outbox message {} claimed at {}", message.getId(), message.getClaimedAt());
+            }
+            message.setStatus(EmailOutboxEntity.Status.SENDING);
+            message.setClaimedAt(now);
+        }
+        return batch;
+    }
+
+    @Transactional
+    public void markSent(UUID messageId, String sesMessageId) {
+        outboxRepository.findById(messageId).ifPresent(message -> {
+            message.setStatus(EmailOutboxEntity.Status.SENT);
+            message.setMessageId(sesMessageId);
+            message.setCompletedAt(Instant.now());
+        });
+    }
+
+    @Transactional
+    public void markSkipped(UUID messageId) {
+        outboxRepository.findById(messageId).ifPresent(message -> {
+            message.setStatus(EmailOutboxEntity.Status.SKIPPED);
+            message.setCompletedAt(Instant.now());
+        });
+    }
+
+    /**
+     * Put a claimed message back to pending, to be claimed again no earlier than {@code delay} from now.
+     */
+    @Transactional
+    public void defer(UUID messageId, Duration delay) {
+        outboxRepository.findById(messageId).ifPresent(message -> {
+            message.setStatus(EmailOutboxEntity.Status.PENDING);
+            message.setClaimedAt(null);
+            message.setNextAttemptAt(Instant.now().plus(delay));
+        });
+    }
+
+    @Transactional
+    public void markFailed(UUID messageId, String error) {
+        outboxRepository.findById(messageId).ifPresent(message -> {
+            message.setStatus(EmailOutboxEntity.Status.FAILED);
+            message.setLastError(error);
+            message.setCompletedAt(Instant.now());
+        });
+    }
+}
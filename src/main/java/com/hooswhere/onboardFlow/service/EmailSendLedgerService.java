@@ -0,0 +1,132 @@
+package com.hooswhere.onboardFlow.service;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.hooswhere.onboardFlow.config.Roles;
+import com.hooswhere.onboardFlow.config.SendLedgerProps;
+import com.hooswhere.onboardFlow.entity.EmailSendLedgerEntity;
+import com.hooswhere.onboardFlow.repository.EmailSendLedgerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Records which workflow steps have had their email handed to SES so retried {@code sendEmail}
+ * attempts do not send it again. The email_send_ledger unique index is authoritative; the bloom
+ * filter only lets first attempts skip the lookup, since it answers "definitely not sent" for
+ * keys this instance has never reserved. A step counts as sent only once SES returned a message
+ * id; a reservation still in flight, or one whose outcome is unknown, does not.
+ *
+ * <p>The filter is kept as two generations so it does not saturate: once the current one holds
+ * {@link SendLedgerProps#bloomExpectedInsertions()} keys it becomes the previous one and the oldest
+ * is dropped. A dropped key only costs its step one ledger lookup.
+ */
+@Service
+@Profile({Roles.WORKER, Roles.ALL})
+public class EmailSendLedgerService {
+    private static final Logger logger = LoggerFactory.getLogger(EmailSendLedgerService.class);
+
+    private final EmailSendLedgerRepository ledgerRepository;
+    private final SendLedgerProps props;
+    private volatile BloomFilter<CharSequence> seenKeys;
+    private volatile BloomFilter<CharSequence> previousSeenKeys;
+
+    public EmailSendLedgerService(EmailSendLedgerRepository ledgerRepository, SendLedgerProps props) {
+        this.ledgerRepository = ledgerRepository;
+        this.props = props;
+        this.seenKeys = newFilter();
+        this.previousSeenKeys = newFilter();
+    }
+
+    /**
+     * Whether SES accepted the step's email. A miss in the bloom filter can still be in the
+     * ledger (e.g. sent by another pod), which {@link #reserve} catches before SES is called.
+     */
+    @Transactional(readOnly = true)
+    public boolean isSent(String workflowId, int stepNumber) {
+        String key = key(workflowId, stepNumber);
+        if (!seenKeys.mightContain(key) && !previousSeenKeys.mightContain(key)) {
+            return false;
+        }
+        return ledgerRepository.existsByWorkflowIdAndStepNumberAndStatus(
+                workflowId, stepNumber, EmailSendLedgerEntity.Status.SENT);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<EmailSendLedgerEntity> find(String workflowId, int stepNumber) {
+        return ledgerRepository.findByWorkflowIdAndStepNumber(workflowId, stepNumber);
+    }
+
+    /**
+     * Claim the right to send the step's email. Returns false if it was already claimed.
+     */
+    @Transactional
+    public boolean reserve(String workflowId, int stepNumber, UUID outboxId) {
+        boolean reserved = ledgerRepository.reserve(workflowId, stepNumber, outboxId) == 1;
+        remember(key(workflowId, stepNumber));
+        if (!reserved) {
+            logger.info("Email for workflow {} step {} already sent or in flight", workflowId, stepNumber);
+        }
+        return reserved;
+    }
+
+    @Transactional
+    public void markSent(String workflowId, int stepNumber, String sesMessageId) {
+        ledgerRepository.markSent(workflowId, stepNumber, EmailSendLedgerEntity.Status.SENT, sesMessageId, Instant.now());
+    }
+
+    /**
+     * Record that SES may have accepted the step's email. The reservation is kept, so the step is
+     * never sent again automatically, but it is not reported as sent either.
+     */
+    @Transactional
+    public void markUnknown(String workflowId, int stepNumber) {
+        ledgerRepository.updateStatus(workflowId, stepNumber, EmailSendLedgerEntity.Status.UNKNOWN);
+    }
+
+    /**
+     * Drop a reservation after SES definitively rejected the message so a retry can send it.
+     * The bloom filter keeps the key, which only costs that retry one lookup.
+     */
+    @Transactional
+    public void release(String workflowId, int stepNumber) {
+        ledgerRepository.deleteByWorkflowIdAndStepNumber(workflowId, stepNumber);
+    }
+
+    private void remember(String key) {
+        BloomFilter<CharSequence> filter = seenKeys;
+        filter.put(key);
+        if (filter.approximateElementCount() >= props.bloomExpectedInsertions()) {
+            rotate(filter);
+        }
+    }
+
+    private synchronized void rotate(BloomFilter<CharSequence> full) {
+        // Another thread may have rotated it already
+        if (seenKeys != full) {
+            return;
+        }
+        previousSeenKeys = full;
+        seenKeys = newFilter();
+        logger.info("Send ledger bloom filter reached {} keys; started a new generation",
+                props.bloomExpectedInsertions());
+    }
+
+    private BloomFilter<CharSequence> newFilter() {
+        return BloomFilter.create(
+                Funnels.stringFunnel(StandardCharsets.UTF_8),
+                props.bloomExpectedInsertions(),
+                props.bloomFalsePositiveRate());
+    }
+
+    private static String key(String workflowId, int stepNumber) {
+        return workflowId + '#' + stepNumber;
+    }
+}
@@ -5,11 +5,14 @@ import com.hooswhere.onboardFlow.entity.EmailStepEntity;
 import com.hooswhere.onboardFlow.entity.EmailTemplateEntity;
 import com.hooswhere.onboardFlow.models.EmailSequenceConfig;
 import com.hooswhere.onboardFlow.models.EmailStepConfig;
+import com.hooswhere.onboardFlow.models.KeysetPage;
+import com.hooswhere.onboardFlow.models.PageCursor;
 import com.hooswhere.onboardFlow.repository.EmailSequenceRepository;
 import com.hooswhere.onboardFlow.repository.EmailStepRepository;
 import com.hooswhere.onboardFlow.repository.EmailTemplateRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,25 +33,24 @@ public class EmailSequenceService {
         this.sequenceRepository = sequenceRepository;
         this.stepRepository = stepRepository;
         this.templateRepository = templateRepository;
-        initializeDefaultSequences();
     }
     
     @Transactional(readOnly = true)
     public Optional<EmailSequenceConfig> getSequenceById(UUID sequenceId) {
         return sequenceRepository.findById(sequenceId)
-                .map(this::convertToConfig);
+                .map(EmailSequenceService::convertToConfig);
     }
     
     @Transactional(readOnly = true)
     public Optional<EmailSequenceConfig> getSequenceByName(String name) {
         return sequenceRepository.findByName(name)
-                .map(this::convertToConfig);
+                .map(EmailSequenceService::convertToConfig);
     }
     
     @Transactional(readOnly = true)
     public List<EmailSequenceConfig> getAllActiveSequences() {
         return sequenceRepository.findByIsActiveTrue().stream()
-                .map(this::convertToConfig)
+                .map(EmailSequenceService::convertToConfig)
                 .toList();
     }
     
@@ -58,10 +60,24 @@ public class EmailSequenceService {
     @Transactional(readOnly = true)
     public List<EmailSequenceConfig> listAllSequences() {
         return sequenceRepository.findAllByOrderByCreatedAtDesc().stream()
-                .map(this::convertToConfig)
+                .map(EmailSequenceService::convertToConfig)
                 .toList();
     }
     
+    /**
+     * One page of sequences ordered by (created_at DESC, id DESC), starting after {@code after}
+     * or at the newest sequence when it is null. Steps are only loaded when {@code includeSteps} is set.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<EmailSequenceConfig> listSequences(PageCursor after, int limit, boolean includeSteps) {
+        // Read one extra row to learn whether another page follows
+        List<EmailSequenceEntity> rows = after == null
+                ? sequenceRepository.findFirstPage(Limit.of(limit + 1))
+                : sequenceRepository.findPageAfter(after.timestamp(), after.id(), Limit.of(limit + 1));
+        return KeysetPage.fromOverfetch(rows, limit, s -> new PageCursor(s.getCreatedAt(), s.getId()))
+                .map(entity -> includeSteps ? convertToConfig(entity) : convertToSummaryConfig(entity));
+    }
+    
     @Transactional
     public UUID createSequence(String name, String description, int maxDurationDays, List<EmailStepConfig> steps) {
         EmailSequenceEntity sequence = new EmailSequenceEntity();
@@ -133,53 +149,6 @@ public class EmailSequenceService {
         return true;
     }
     
-    @Transactional
-    public void initializeDefaultSequences() {
-        // Only create default sequences if none exist
-        if (sequenceRepository.count() == 0) {
-            createDefaultSaasSequence();
-            createDefaultTrialSequence();
-            logger.info("Initialized default email sequences");
-        } else {
-            logger.info("Default sequences already exist, skipping initialization");
-        }
-    }
-    
-    private void createDefaultSaasSequence() {
-        List<EmailStepConfig> steps = List.of(
-            EmailStepConfig.createWithSlug(null, 1, "welcome", Duration.ZERO, List.of()),
-            EmailStepConfig.createWithSlug(null, 2, "getting-started", Duration.ofDays(1), List.of("user_not_active")),
-            EmailStepConfig.createWithSlug(null, 3, "feature-highlight", Duration.ofDays(3), List.of("user_not_active", "email_not_opened")),
-            EmailStepConfig.createWithSlug(null, 4, "check-in", Duration.ofDays(7), List.of("user_not_converted")),
-            EmailStepConfig.createWithSlug(null, 5, "conversion-push", Duration.ofDays(14), List.of("user_not_converted")),
-            EmailStepConfig.createWithSlug(null, 6, "final-engagement", Duration.ofDays(30), List.of("user_not_converted"))
-        );
-        
-        createSequence(
-            "default-saas-sequence",
-            "Default SaaS Onboarding Sequence",
-            45,
-            steps
-        );
-    }
-    
-    private void createDefaultTrialSequence() {
-        List<EmailStepConfig> steps = List.of(
-            EmailStepConfig.createWithSlug(null, 1, "trial-welcome", Duration.ZERO, List.of()),
-            EmailStepConfig.createWithSlug(null, 2, "trial-day-3", Duration.ofDays(3), List.of("user_not_active")),
-            EmailStepConfig.createWithSlug(null, 3, "trial-day-7", Duration.ofDays(7), List.of("user_not_converted")),
-            EmailStepConfig.createWithSlug(null, 4, "trial-expiring-soon", Duration.ofDays(12), List.of("user_not_converted")),
-            EmailStepConfig.createWithSlug(null, 5, "trial-expired", Duration.ofDays(15), List.of("user_not_converted"))
-        );
-        
-        createSequence(
-            "trial-sequence",
-            "Free Trial Email Sequence",
-            21,
-            steps
-        );
-    }
-    
     @Transactional
     public void saveSequence(EmailSequenceConfig sequence) {
         if (validateSequence(sequence)) {
@@ -218,7 +187,8 @@ public class EmailSequenceService {
         logger.info("Deleted email sequence: {}", sequenceId);
     }
     
-    private EmailSequenceConfig convertToConfig(EmailSequenceEntity entity) {
+    // Package-private and static so the JMH benchmarks can call it without repositories
+    static EmailSequenceConfig convertToConfig(EmailSequenceEntity entity) {
         List<EmailStepConfig> steps = entity.getSteps().stream()
                 .map(step -> EmailStepConfig.create(
                         entity.getId(),
@@ -240,6 +210,17 @@ public class EmailSequenceService {
         );
     }
     
+    private EmailSequenceConfig convertToSummaryConfig(EmailSequenceEntity entity) {
+        return new EmailSequenceConfig(
+                entity.getId(),
+                entity.getName(),
+                entity.getDescription(),
+                entity.isActive(),
+                entity.getMaxDurationDays(),
+                List.of()
+        );
+    }
+    
     private EmailSequenceEntity convertToEntity(EmailSequenceConfig config) {
         EmailSequenceEntity entity = new EmailSequenceEntity();
         entity.setId(config.id());
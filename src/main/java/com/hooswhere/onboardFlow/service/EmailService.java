@@ -1,24 +1,34 @@
 package com.hooswhere.onboardFlow.service;
 
 import com.hooswhere.onboardFlow.config.AwsSesProps;
+import com.hooswhere.onboardFlow.config.MetricsConfig;
+import com.hooswhere.onboardFlow.config.Roles;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
 import software.amazon.awssdk.services.sesv2.SesV2Client;
 import software.amazon.awssdk.services.sesv2.model.*;
 
 import java.util.Map;
 
 @Service
+@Profile({Roles.WORKER, Roles.ALL})
 public class EmailService {
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
     
     private final SesV2Client sesV2Client;
     private final AwsSesProps awsSesProps;
+    private final MeterRegistry meterRegistry;
     
-    public EmailService(SesV2Client sesV2Client, AwsSesProps sesConfig) {
+    public EmailService(SesV2Client sesV2Client, AwsSesProps sesConfig, MeterRegistry meterRegistry) {
         this.sesV2Client = sesV2Client;
         this.awsSesProps = sesConfig;
+        this.meterRegistry = meterRegistry;
     }
     
     public boolean sendEmail(String toEmail, String subject, String htmlBody, String textBody) {
@@ -26,6 +36,11 @@ public class EmailService {
     }
     
     public boolean sendEmail(String toEmail, String toName, String subject, String htmlBody, String textBody, Map<String, String> tags) {
+        return sendEmailWithResult(toEmail, toName, subject, htmlBody, textBody, tags).isSuccess();
+    }
+    
+    public EmailSendResult sendEmailWithResult(String toEmail, String toName, String subject, String htmlBody, String textBody, Map<String, String> tags) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             // Build the destination
             Destination.Builder destinationBuilder = Destination.builder()
@@ -82,27 +97,29 @@ public class EmailService {
             
             // Send the email
             SendEmailResponse response = sesV2Client.sendEmail(requestBuilder.build());
+            recordSend(sample, "success");
             
             logger.info("Email sent successfully to: {} with message ID: {}", toEmail, response.messageId());
-            return true;
+            return EmailSendResult.success(response.messageId());
             
+        } catch (ApiCallTimeoutException | ApiCallAttemptTimeoutException e) {
+            // The request may have reached SES before the response was lost
+            recordSend(sample, "unknown");
+            logger.warn("Timed out sending email to: {}, delivery outcome unknown", toEmail, e);
+            return EmailSendResult.outcomeUnknown(e.getMessage());
         } catch (Exception e) {
+            recordSend(sample, "failure");
             logger.error("Failed to send email to: {}", toEmail, e);
-            return false;
+            return EmailSendResult.failure(e.getMessage());
         }
     }
     
-    public EmailSendResult sendEmailWithResult(String toEmail, String toName, String subject, String htmlBody, String textBody, Map<String, String> tags) {
-        try {
-            boolean success = sendEmail(toEmail, toName, subject, htmlBody, textBody, tags);
-            if (success) {
-                return EmailSendResult.success();
-            } else {
-                return EmailSendResult.failure("Unknown error occurred");
-            }
-        } catch (Exception e) {
-            return EmailSendResult.failure(e.getMessage());
-        }
+    private void recordSend(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder(MetricsConfig.METER_PREFIX + "ses.send")
+                .description("SES SendEmail call latency, including SDK retries")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
     }
     
     private String formatEmailAddress(String email, String name) {
@@ -116,23 +133,32 @@ public class EmailService {
         private final boolean success;
         private final String errorMessage;
         private final String messageId;
+        private final boolean outcomeUnknown;
         
-        private EmailSendResult(boolean success, String errorMessage, String messageId) {
+        private EmailSendResult(boolean success, String errorMessage, String messageId, boolean outcomeUnknown) {
             this.success = success;
             this.errorMessage = errorMessage;
             this.messageId = messageId;
+            this.outcomeUnknown = outcomeUnknown;
         }
         
         public static EmailSendResult success() {
-            return new EmailSendResult(true, null, null);
+            return new EmailSendResult(true, null, null, false);
         }
         
         public static EmailSendResult success(String messageId) {
-            return new EmailSendResult(true, null, messageId);
+            return new EmailSendResult(true, null, messageId, false);
         }
         
         public static EmailSendResult failure(String errorMessage) {
-            return new EmailSendResult(false, errorMessage, null);
+            return new EmailSendResult(false, errorMessage, null, false);
+        }
+        
+        /**
+         * The call failed in a way that does not tell whether SES accepted the message.
+         */
+        public static EmailSendResult outcomeUnknown(String errorMessage) {
+            return new EmailSendResult(false, errorMessage, null, true);
         }
         
         public boolean isSuccess() {
@@ -146,5 +172,9 @@ public class EmailService {
         public String getMessageId() {
             return messageId;
         }
+        
+        public boolean isOutcomeUnknown() {
+            return outcomeUnknown;
+        }
     }
 }
\ No newline at end of file
@@ -1,11 +1,20 @@
 package com.hooswhere.onboardFlow.service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hooswhere.onboardFlow.config.MetricsConfig;
 import com.hooswhere.onboardFlow.entity.EmailTemplateEntity;
 import com.hooswhere.onboardFlow.models.EmailTemplate;
 import com.hooswhere.onboardFlow.models.EmailTemplateContext;
+import com.hooswhere.onboardFlow.models.KeysetPage;
+import com.hooswhere.onboardFlow.models.PageCursor;
+import com.hooswhere.onboardFlow.models.TemplateSummary;
 import com.hooswhere.onboardFlow.repository.EmailTemplateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,19 +22,26 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 public class EmailTemplateService {
     private static final Logger logger = LoggerFactory.getLogger(EmailTemplateService.class);
-    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{\\{([^}]+)\\}\\}");
+    // Old versions of updated templates age out once this many parts are cached
+    private static final int COMPILED_CACHE_SIZE = 1_000;
     
     private final EmailTemplateRepository templateRepository;
+    private final MeterRegistry meterRegistry;
+    // Keyed by template version, so an update compiles afresh instead of invalidating
+    private final Cache<CompiledKey, CompiledTemplate> compiledTemplates;
     
-    public EmailTemplateService(EmailTemplateRepository templateRepository) {
+    private record CompiledKey(UUID templateId, int version, String part) {}
+    
+    public EmailTemplateService(EmailTemplateRepository templateRepository, MeterRegistry meterRegistry) {
         this.templateRepository = templateRepository;
-        initializeDefaultTemplates();
+        this.meterRegistry = meterRegistry;
+        this.compiledTemplates = CacheBuilder.newBuilder().maximumSize(COMPILED_CACHE_SIZE).build();
     }
     
     public Optional<EmailTemplate> getTemplate(String templateSlug) {
@@ -34,46 +50,60 @@ public class EmailTemplateService {
     }
     
     public String renderTemplate(String templateSlug, EmailTemplateContext context) {
-        EmailTemplateEntity entity = templateRepository.findBySlugAndIsActiveTrue(templateSlug)
-                .orElse(null);
+        EmailTemplateEntity entity = lookupActiveTemplate(templateSlug);
         if (entity == null) {
             logger.warn("Template not found: {}", templateSlug);
             return null;
         }
         
-        return renderVariables(entity.getSubject(), context);
+        return timedRender(templateSlug, "subject", () -> render(entity, "subject", entity.getSubject(), context));
     }
     
     public EmailTemplate renderFullTemplate(String templateSlug, EmailTemplateContext context) {
-        EmailTemplateEntity entity = templateRepository.findBySlugAndIsActiveTrue(templateSlug)
-                .orElse(null);
+        EmailTemplateEntity entity = lookupActiveTemplate(templateSlug);
         if (entity == null) {
             logger.warn("Template not found: {}", templateSlug);
             return null;
         }
         
-        String renderedSubject = renderVariables(entity.getSubject(), context);
-        String renderedHtmlBody = entity.getHtmlBody() != null ? renderVariables(entity.getHtmlBody(), context) : null;
-        String renderedTextBody = entity.getTextBody() != null ? renderVariables(entity.getTextBody(), context) : null;
+        String renderedSubject = timedRender(templateSlug, "subject",
+                () -> render(entity, "subject", entity.getSubject(), context));
+        String renderedHtmlBody = entity.getHtmlBody() != null
+                ? timedRender(templateSlug, "html", () -> render(entity, "html", entity.getHtmlBody(), context)) : null;
+        String renderedTextBody = entity.getTextBody() != null
+                ? timedRender(templateSlug, "text", () -> render(entity, "text", entity.getTextBody(), context)) : null;
         
         return new EmailTemplate(entity.getSlug(), renderedSubject, renderedHtmlBody, renderedTextBody);
     }
     
-    private String renderVariables(String content, EmailTemplateContext context) {
+    private EmailTemplateEntity lookupActiveTemplate(String templateSlug) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        EmailTemplateEntity entity = templateRepository.findBySlugAndIsActiveTrue(templateSlug).orElse(null);
+        sample.stop(Timer.builder(MetricsConfig.METER_PREFIX + "template.lookup")
+                .description("Time to load an active template by slug")
+                .tag(MetricsConfig.TEMPLATE_TAG, templateSlug)
+                .tag("outcome", entity != null ? "found" : "missing")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        return entity;
+    }
+    
+    private String timedRender(String templateSlug, String part, Supplier<String> render) {
+        return Timer.builder(MetricsConfig.METER_PREFIX + "template.render")
+                .description("Time to substitute variables into one part of a template")
+                .tag(MetricsConfig.TEMPLATE_TAG, templateSlug)
+                .tag("part", part)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(render);
+    }
+    
+    private String render(EmailTemplateEntity entity, String part, String content, EmailTemplateContext context) {
         if (content == null) return null;
-        
-        Matcher matcher = VARIABLE_PATTERN.matcher(content);
-        StringBuffer result = new StringBuffer();
-        
-        while (matcher.find()) {
-            String variableName = matcher.group(1).trim();
-            Object value = context.get(variableName);
-            String replacement = value != null ? value.toString() : "";
-            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
-        }
-        matcher.appendTail(result);
-        
-        return result.toString();
+        return compiledTemplates.asMap()
+                .computeIfAbsent(new CompiledKey(entity.getId(), entity.getVersion(), part),
+                        key -> CompiledTemplate.compile(content))
+                .render(context);
     }
     
     @Transactional
@@ -97,121 +127,6 @@ public class EmailTemplateService {
         );
     }
     
-    @Transactional
-    public void initializeDefaultTemplates() {
-        // Only create default templates if none exist
-        if (templateRepository.count() == 0) {
-            // Welcome email template
-            createTemplate(
-                "welcome",
-                "Welcome Email",
-                "Welcome to {{companyName}}, {{firstName}}!",
-                """
-                <html>
-                <body>
-                    <h1>Welcome {{firstName}}!</h1>
-                    <p>We're excited to have you join {{companyName}}.</p>
-                    <p>Your journey starts now. Let's get you set up!</p>
-                    <p>Best regards,<br>The {{companyName}} Team</p>
-                </body>
-                </html>
-                """,
-                """
-                Welcome {{firstName}}!
-                
-                We're excited to have you join {{companyName}}.
-                Your journey starts now. Let's get you set up!
-                
-                Best regards,
-                The {{companyName}} Team
-                """
-            );
-            
-            // Getting started template
-            createTemplate(
-                "getting-started",
-                "Getting Started Email",
-                "Get started with {{companyName}}",
-                """
-                <html>
-                <body>
-                    <h1>Let's get you started, {{firstName}}!</h1>
-                    <p>It's been 24 hours since you joined us. Here are the first steps:</p>
-                    <ul>
-                        <li>Complete your profile setup</li>
-                        <li>Explore our key features</li>
-                        <li>Connect with our community</li>
-                    </ul>
-                    <p>Need help? We're here for you!</p>
-                </body>
-                </html>
-                """,
-                """
-                Let's get you started, {{firstName}}!
-                
-                It's been 24 hours since you joined us. Here are the first steps:
-                - Complete your profile setup
-                - Explore our key features  
-                - Connect with our community
-                
-                Need help? We're here for you!
-                """
-            );
-            
-            // Feature highlight template
-            createTemplate(
-                "feature-highlight",
-                "Feature Highlight Email",
-                "Discover what makes {{companyName}} special",
-                """
-                <html>
-                <body>
-                    <h1>{{firstName}}, check out this amazing feature!</h1>
-                    <p>We noticed you haven't been active lately. Here's something that might interest you:</p>
-                    <p>Our advanced analytics dashboard can help you track your progress and achieve your goals faster.</p>
-                    <p>Give it a try today!</p>
-                </body>
-                </html>
-                """,
-                """
-                {{firstName}}, check out this amazing feature!
-                
-                We noticed you haven't been active lately. Here's something that might interest you:
-                
-                Our advanced analytics dashboard can help you track your progress and achieve your goals faster.
-                
-                Give it a try today!
-                """
-            );
-            
-            // Trial welcome template
-            createTemplate(
-                "trial-welcome",
-                "Trial Welcome Email",
-                "Your {{companyName}} trial starts now!",
-                """
-                <html>
-                <body>
-                    <h1>Welcome to your free trial, {{firstName}}!</h1>
-                    <p>You have 14 days to explore everything {{companyName}} has to offer.</p>
-                    <p>Make the most of your trial period!</p>
-                </body>
-                </html>
-                """,
-                """
-                Welcome to your free trial, {{firstName}}!
-                
-                You have 14 days to explore everything {{companyName}} has to offer.
-                Make the most of your trial period!
-                """
-            );
-            
-            logger.info("Initialized default email templates");
-        } else {
-            logger.info("Default templates already exist, skipping initialization");
-        }
-    }
-
     /**
      * List all email templates ordered by creation date.
      */
@@ -219,6 +134,30 @@ public class EmailTemplateService {
         return templateRepository.findAllByOrderByCreatedAtDesc();
     }
 
+    /**
+     * One page of templates ordered by (created_at DESC, id DESC), starting after {@code after}
+     * or at the newest template when it is null.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<EmailTemplateEntity> listTemplates(PageCursor after, int limit) {
+        // Read one extra row to learn whether another page follows
+        List<EmailTemplateEntity> rows = after == null
+                ? templateRepository.findFirstPage(Limit.of(limit + 1))
+                : templateRepository.findPageAfter(after.timestamp(), after.id(), Limit.of(limit + 1));
+        return KeysetPage.fromOverfetch(rows, limit, t -> new PageCursor(t.getCreatedAt(), t.getId()));
+    }
+
+    /**
+     * Same as {@link #listTemplates} but without loading template bodies.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<TemplateSummary> listTemplateSummaries(PageCursor after, int limit) {
+        List<TemplateSummary> rows = after == null
+                ? templateRepository.findFirstSummaryPage(Limit.of(limit + 1))
+                : templateRepository.findSummaryPageAfter(after.timestamp(), after.id(), Limit.of(limit + 1));
+        return KeysetPage.fromOverfetch(rows, limit, t -> new PageCursor(t.createdAt(), t.id()));
+    }
+
     /**
      * Get a template entity by slug.
      */
@@ -0,0 +1,132 @@
+package com.hooswhere.onboardFlow.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.hooswhere.onboardFlow.config.IdempotencyProps;
+import com.hooswhere.onboardFlow.config.Roles;
+import com.hooswhere.onboardFlow.entity.IdempotencyKeyEntity;
+import com.hooswhere.onboardFlow.repository.IdempotencyKeyRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stores the outcome of requests sent with an Idempotency-Key so retries get the same response
+ * without running the request again. idempotency_keys is authoritative across pods; the cache in
+ * front of it answers retries that reach the same pod without a query.
+ */
+@Service
+@Profile({Roles.API, Roles.ALL})
+public class IdempotencyService {
+    private static final TypeReference<Map<String, Object>> BODY_TYPE = new TypeReference<>() {};
+
+    /**
+     * A stored response. {@code body} is the response body as a JSON tree, or null for none.
+     */
+    public record StoredResponse(String requestHash, int status, Map<String, Object> body, String location) {}
+
+    private final IdempotencyKeyRepository keyRepository;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProps props;
+    private final Cache<String, StoredResponse> responses;
+
+    public IdempotencyService(IdempotencyKeyRepository keyRepository, ObjectMapper objectMapper, IdempotencyProps props) {
+        this.keyRepository = keyRepository;
+        this.objectMapper = objectMapper;
+        this.props = props;
+        this.responses = CacheBuilder.newBuilder()
+                .maximumSize(props.cacheSize())
+                .expireAfterWrite(props.ttl())
+                .build();
+    }
+
+    /**
+     * SHA-256 of the request as JSON, to tell a retry from a different request reusing the key.
+     */
+    public String hash(Object request) {
+        try {
+            // Sorted map keys, so equal requests hash the same whatever order their metadata was built in
+            byte[] json = objectMapper.writer(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).writeValueAsBytes(request);
+            return Hashing.sha256().hashBytes(json).toString();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request is not serializable", e);
+        }
+    }
+
+    /**
+     * The completed response for this key, if it has one that has not expired.
+     */
+    @Transactional(readOnly = true)
+    public Optional<StoredResponse> find(String key) {
+        StoredResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Instant expiredBefore = Instant.now().minus(props.ttl());
+        Optional<StoredResponse> stored = keyRepository.findByIdempotencyKey(key)
+                .filter(row -> row.getStatus() == IdempotencyKeyEntity.Status.COMPLETED)
+                .filter(row -> row.getCreatedAt().isAfter(expiredBefore))
+                .map(row -> new StoredResponse(row.getRequestHash(), row.getResponseStatus(),
+                        row.getResponseBody(), row.getResponseLocation()));
+        stored.ifPresent(response -> responses.put(key, response));
+        return stored;
+    }
+
+    /**
+     * Claim the key for a request about to run. Returns false if another request holds it.
+     */
+    @Transactional
+    public boolean claim(String key, String requestHash) {
+        Instant now = Instant.now();
+        return keyRepository.claim(key, requestHash, now.minus(props.ttl()), now.minus(props.inProgressTimeout())) == 1;
+    }
+
+    @Transactional
+    public StoredResponse complete(String key, String requestHash, int status, Object body, String location) {
+        StoredResponse response = new StoredResponse(requestHash, status,
+                body != null ? objectMapper.convertValue(body, BODY_TYPE) : null, location);
+        keyRepository.findByIdempotencyKey(key).ifPresent(row -> {
+            row.setStatus(IdempotencyKeyEntity.Status.COMPLETED);
+            row.setResponseStatus(status);
+            row.setResponseBody(response.body());
+            row.setResponseLocation(location);
+            row.setCompletedAt(Instant.now());
+        });
+        responses.put(key, response);
+        return response;
+    }
+
+    /**
+     * The stored body read back as {@code type}, or null if the response had none.
+     */
+    public <T> T readBody(StoredResponse response, Class<T> type) {
+        return response.body() != null ? objectMapper.convertValue(response.body(), type) : null;
+    }
+
+    /**
+     * Record that the request failed. The key stays taken, so a different request cannot claim it,
+     * but a retry of the same request claims it straight away and runs again.
+     */
+    @Transactional
+    public void fail(String key) {
+        keyRepository.updateStatus(key, IdempotencyKeyEntity.Status.FAILED);
+    }
+
+    /**
+     * Workflow id for a start made under this key. A retry after a start that timed out but went
+     * through reuses it, so the starter resumes that onboarding instead of starting a second one.
+     */
+    public String workflowId(String key, String requestHash) {
+        return "onboarding-key-" + Hashing.sha256().hashString(key + '#' + requestHash, StandardCharsets.UTF_8);
+    }
+}
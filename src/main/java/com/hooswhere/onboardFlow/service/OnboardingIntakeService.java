@@ -0,0 +1,113 @@
+package com.hooswhere.onboardFlow.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hooswhere.onboardFlow.config.Roles;
+import com.hooswhere.onboardFlow.entity.OnboardingIntakeEntity;
+import com.hooswhere.onboardFlow.models.StartOnboardingRequest;
+import com.hooswhere.onboardFlow.repository.OnboardingIntakeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@Profile({Roles.API, Roles.ALL})
+public class OnboardingIntakeService {
+    private static final Logger logger = LoggerFactory.getLogger(OnboardingIntakeService.class);
+    private static final TypeReference<Map<String, Object>> REQUEST_TYPE = new TypeReference<>() {};
+
+    private final OnboardingIntakeRepository intakeRepository;
+    private final ObjectMapper objectMapper;
+
+    public OnboardingIntakeService(OnboardingIntakeRepository intakeRepository, ObjectMapper objectMapper) {
+        this.intakeRepository = intakeRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Queue a start request. This is the only database work a request does in intake mode: one insert,
+     * with the id generated here.
+     */
+    @Transactional
+    public OnboardingIntakeEntity accept(StartOnboardingRequest request) {
+        OnboardingIntakeEntity intake = new OnboardingIntakeEntity();
+        intake.setCustomerEmail(request.customer().email());
+        intake.setRequest(objectMapper.convertValue(request, REQUEST_TYPE));
+        intake.setStatus(OnboardingIntakeEntity.Status.PENDING);
+        return intakeRepository.save(intake);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OnboardingIntakeEntity> get(UUID intakeId) {
+        return intakeRepository.findById(intakeId);
+    }
+
+    public StartOnboardingRequest toRequest(OnboardingIntakeEntity intake) {
+        return objectMapper.convertValue(intake.getRequest(), StartOnboardingRequest.class);
+    }
+
+    /**
+     * Claim up to {@code limit} requests for starting. Rows are locked with SKIP LOCKED so several
+     * starters can drain the intake without starting the same request twice.
+     */
+    @Transactional
+    public List<OnboardingIntakeEntity> claimBatch(int limit, Duration claimTimeout) {
+        Instant now = Instant.now();
+        List<OnboardingIntakeEntity> batch = intakeRepository.lockNextBatch(now, now.minus(claimTimeout), limit);
+        for (OnboardingIntakeEntity intake : batch) {
+            if (intake.getStatus() == OnboardingIntakeEntity.Status.STARTING) {
+                logger.warn("Reclaiming intake request {} claimed at {}", intake.getId(), intake.getClaimedAt());
+            }
+            intake.setStatus(OnboardingIntakeEntity.Status.STARTING);
+            intake.setAttempts(intake.getAttempts() + 1);
+            intake.setClaimedAt(now);
+        }
+        return batch;
+    }
+
+    @Transactional
+    public void markStarted(UUID intakeId, String workflowId) {
+        intakeRepository.findById(intakeId).ifPresent(intake -> {
+            intake.setStatus(OnboardingIntakeEntity.Status.STARTED);
+            intake.setWorkflowId(workflowId);
+            intake.setLastError(null);
+            intake.setCompletedAt(Instant.now());
+        });
+    }
+
+    @Transactional
+    public void markRejected(UUID intakeId, String error) {
+        intakeRepository.findById(intakeId).ifPresent(intake -> {
+            intake.setStatus(OnboardingIntakeEntity.Status.REJECTED);
+            intake.setLastError(error);
+            intake.setCompletedAt(Instant.now());
+        });
+    }
+
+    /**
+     * Record a failed start: back to PENDING after {@code retryDelay} times the attempt number, or
+     * FAILED once {@code maxAttempts} is reached.
+     */
+    @Transactional
+    public void markFailed(UUID intakeId, String error, int maxAttempts, Duration retryDelay) {
+        intakeRepository.findById(intakeId).ifPresent(intake -> {
+            intake.setLastError(error);
+            if (intake.getAttempts() >= maxAttempts) {
+                intake.setStatus(OnboardingIntakeEntity.Status.FAILED);
+                intake.setCompletedAt(Instant.now());
+            } else {
+                intake.setStatus(OnboardingIntakeEntity.Status.PENDING);
+                intake.setNextAttemptAt(Instant.now().plus(retryDelay.multipliedBy(intake.getAttempts())));
+            }
+        });
+    }
+}
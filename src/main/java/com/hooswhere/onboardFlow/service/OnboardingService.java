@@ -1,14 +1,30 @@
 package com.hooswhere.onboardFlow.service;
 
 import com.hooswhere.onboardFlow.OnboardingStatus;
+import com.hooswhere.onboardFlow.entity.OnboardingProgressEntity;
+import com.hooswhere.onboardFlow.models.KeysetPage;
+import com.hooswhere.onboardFlow.models.OnboardingProgressFilter;
+import com.hooswhere.onboardFlow.models.OnboardingSummary;
+import com.hooswhere.onboardFlow.models.PageCursor;
 import com.hooswhere.onboardFlow.repository.OnboardingProgressRepository;
 import com.hooswhere.onboardFlow.repository.CustomerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class OnboardingService {
+    private static final Logger logger = LoggerFactory.getLogger(OnboardingService.class);
+
     private final OnboardingProgressRepository onboardingProgressRepo;
     private final CustomerRepository customerRepository;
 
@@ -24,4 +40,55 @@ public class OnboardingService {
     public boolean hasActiveOnboarding(String email) {
         return onboardingProgressRepo.hasActiveOnboardingByEmail(email);
     }
+
+    /**
+     * One page of onboardings matching the filter, most recently started first.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<OnboardingSummary> listOnboardings(OnboardingProgressFilter filter, PageCursor after, int limit) {
+        // Read one extra row to learn whether another page follows
+        List<OnboardingSummary> rows = onboardingProgressRepo.findSummaries(filter, after, limit + 1);
+        return KeysetPage.fromOverfetch(rows, limit, o -> new PageCursor(o.startedAt(), o.id()));
+    }
+
+    /**
+     * In-progress or paused onboardings of the given customers.
+     */
+    @Transactional(readOnly = true)
+    public List<OnboardingProgressEntity> findActiveOnboardings(Collection<UUID> customerIds) {
+        return onboardingProgressRepo.findByCustomerIdInAndStatusIn(customerIds, ACTIVE_STATUSES);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OnboardingProgressEntity> getByWorkflowId(String workflowId) {
+        return onboardingProgressRepo.findByWorkflowId(workflowId);
+    }
+
+    /**
+     * Store the workflow's view of its progress so it can be queried without going through Temporal.
+     * The row is loaded by primary key, or by workflow id for workflows started without a progress id.
+     * Metadata is merged, since the request metadata is stored on the row rather than in the workflow.
+     */
+    @Transactional
+    public void recordProgress(UUID progressId, String workflowId, OnboardingStatus status, int currentStep,
+                               Instant lastActivityAt, Instant completedAt, Map<String, Object> metadata) {
+        OnboardingProgressEntity progress = (progressId != null
+                ? onboardingProgressRepo.findById(progressId)
+                : onboardingProgressRepo.findByWorkflowId(workflowId)).orElse(null);
+        if (progress == null) {
+            logger.warn("No onboarding progress row for workflow: {}", workflowId);
+            return;
+        }
+        progress.setStatus(status);
+        progress.setCurrentStep(currentStep);
+        progress.setLastActivityAt(lastActivityAt);
+        progress.setCompletedAt(completedAt);
+        if (metadata != null && !metadata.isEmpty()) {
+            Map<String, Object> merged = progress.getMetadata() != null
+                    ? new HashMap<>(progress.getMetadata())
+                    : new HashMap<>();
+            merged.putAll(metadata);
+            progress.setMetadata(merged);
+        }
+    }
 }
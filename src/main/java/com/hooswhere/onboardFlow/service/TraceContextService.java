@@ -0,0 +1,51 @@
+package com.hooswhere.onboardFlow.service;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Saves the current trace context as W3C headers and restores it later, for work that is handed
+ * over through a table rather than a call, such as outbox messages sent by the dispatcher.
+ */
+@Service
+public class TraceContextService {
+    private static final TextMapGetter<Map<String, String>> MAP_GETTER = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(Map<String, String> carrier) {
+            return carrier.keySet();
+        }
+
+        @Override
+        public String get(Map<String, String> carrier, String key) {
+            return carrier == null ? null : carrier.get(key);
+        }
+    };
+
+    private final TextMapPropagator propagator;
+
+    public TraceContextService(OpenTelemetry openTelemetry) {
+        this.propagator = openTelemetry.getPropagators().getTextMapPropagator();
+    }
+
+    /**
+     * @return the propagation headers of the current context, or null when there is no active trace
+     */
+    public Map<String, String> capture() {
+        Map<String, String> headers = new HashMap<>();
+        propagator.inject(Context.current(), headers, Map::put);
+        return headers.isEmpty() ? null : headers;
+    }
+
+    public Context restore(Map<String, String> headers) {
+        if (headers == null || headers.isEmpty()) {
+            return Context.root();
+        }
+        return propagator.extract(Context.root(), headers, MAP_GETTER);
+    }
+}
@@ -0,0 +1,222 @@
+package com.hooswhere.onboardFlow.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hooswhere.onboardFlow.config.Roles;
+import com.hooswhere.onboardFlow.config.UserActionProps;
+import com.hooswhere.onboardFlow.models.UserActionEvent;
+import com.hooswhere.onboardFlow.repository.CustomerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@Profile({Roles.API, Roles.ALL})
+public class UserActionService {
+    private static final Logger logger = LoggerFactory.getLogger(UserActionService.class);
+
+    private static final String INSERT_SQL = """
+        INSERT INTO user_actions (customer_id, action_type, action_data, occurred_at)
+        VALUES (?, ?, ?::jsonb, ?)
+        """;
+
+    // LEAST ignores NULLs, so each column keeps the earliest time not yet signalled
+    private static final String QUEUE_SIGNAL_SQL = """
+        INSERT INTO user_activity_signals (customer_id, active_at, converted_at)
+        VALUES (?, ?, ?)
+        ON CONFLICT (customer_id) DO UPDATE
+        SET active_at = LEAST(user_activity_signals.active_at, EXCLUDED.active_at),
+            converted_at = LEAST(user_activity_signals.converted_at, EXCLUDED.converted_at)
+        """;
+
+    private static final String CLAIM_SIGNALS_SQL = """
+        UPDATE user_activity_signals s
+        SET attempts = s.attempts + 1, next_attempt_at = ?
+        WHERE s.customer_id IN (
+            SELECT customer_id FROM user_activity_signals
+            WHERE next_attempt_at <= ?
+            ORDER BY next_attempt_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED)
+        RETURNING s.customer_id, s.active_at, s.converted_at, s.attempts
+        """;
+
+    // Only delete what was signalled; a conversion stored meanwhile keeps the row
+    private static final String COMPLETE_SIGNAL_SQL = """
+        DELETE FROM user_activity_signals
+        WHERE customer_id = ?
+          AND active_at IS NOT DISTINCT FROM ?
+          AND converted_at IS NOT DISTINCT FROM ?
+        """;
+
+    /**
+     * Activity of one customer waiting to be signalled: the earliest activity and conversion stored.
+     */
+    public record PendingSignal(UUID customerId, Instant activeAt, Instant convertedAt, int attempts) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CustomerRepository customerRepository;
+    private final ObjectMapper objectMapper;
+    private final UserActionProps props;
+
+    public UserActionService(JdbcTemplate jdbcTemplate, CustomerRepository customerRepository,
+                             ObjectMapper objectMapper, UserActionProps props) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.customerRepository = customerRepository;
+        this.objectMapper = objectMapper;
+        this.props = props;
+    }
+
+    /**
+     * Store a batch of events in user_actions with batched inserts. Events without an action type
+     * or for unknown customers are dropped rather than failing the whole batch. Activity and
+     * conversion events are queued in user_activity_signals in the same transaction, so a signal
+     * cannot be lost once the request has succeeded.
+     *
+     * @return the stored events, with occurredAt filled in
+     */
+    @Transactional
+    public List<UserActionEvent> ingest(List<UserActionEvent> events) {
+        Set<UUID> requestedIds = events.stream()
+                .map(UserActionEvent::customerId)
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+        Set<UUID> knownIds = requestedIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(customerRepository.findExistingIds(requestedIds));
+
+        Instant now = Instant.now();
+        List<UserActionEvent> accepted = new ArrayList<>(events.size());
+        for (UserActionEvent event : events) {
+            if (event.actionType() == null || event.actionType().isBlank() || event.actionType().length() > 100
+                    || !knownIds.contains(event.customerId())) {
+                continue;
+            }
+            accepted.add(new UserActionEvent(
+                    event.customerId(),
+                    event.actionType(),
+                    event.occurredAt() != null ? event.occurredAt() : now,
+                    event.data()));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, accepted, props.insertChunkSize(), (ps, event) -> {
+            ps.setObject(1, event.customerId());
+            ps.setString(2, event.actionType());
+            ps.setString(3, toJson(event));
+            ps.setTimestamp(4, Timestamp.from(event.occurredAt()));
+        });
+
+        queueSignals(accepted);
+
+        if (accepted.size() < events.size()) {
+            logger.info("Dropped {} of {} user actions", events.size() - accepted.size(), events.size());
+        }
+        return accepted;
+    }
+
+    /**
+     * Claim up to {@code limit} customers whose activity is due for signalling. Claimed rows are not
+     * handed out again for {@code claimTimeout}, after which a signaler that died is assumed gone.
+     */
+    @Transactional
+    public List<PendingSignal> claimSignals(int limit, Duration claimTimeout) {
+        Instant now = Instant.now();
+        return jdbcTemplate.query(CLAIM_SIGNALS_SQL,
+                (rs, rowNum) -> new PendingSignal(
+                        rs.getObject("customer_id", UUID.class),
+                        toInstant(rs.getTimestamp("active_at")),
+                        toInstant(rs.getTimestamp("converted_at")),
+                        rs.getInt("attempts")),
+                Timestamp.from(now.plus(claimTimeout)), Timestamp.from(now), limit);
+    }
+
+    /**
+     * Drop a signal that reached every active onboarding of the customer. If more activity was
+     * stored since the claim, the row is made due again instead.
+     */
+    @Transactional
+    public void completeSignal(PendingSignal signal) {
+        int deleted = jdbcTemplate.update(COMPLETE_SIGNAL_SQL, signal.customerId(),
+                toTimestamp(signal.activeAt()), toTimestamp(signal.convertedAt()));
+        if (deleted == 0) {
+            retrySignal(signal, Duration.ZERO);
+        }
+    }
+
+    /**
+     * Make a claimed signal due again after {@code delay}.
+     */
+    @Transactional
+    public void retrySignal(PendingSignal signal, Duration delay) {
+        jdbcTemplate.update("UPDATE user_activity_signals SET next_attempt_at = ? WHERE customer_id = ?",
+                Timestamp.from(Instant.now().plus(delay)), signal.customerId());
+    }
+
+    private void queueSignals(List<UserActionEvent> events) {
+        Map<UUID, PendingSignal> byCustomer = new HashMap<>();
+        for (UserActionEvent event : events) {
+            PendingSignal signal = switch (event.actionType()) {
+                case UserActionEvent.LOGIN, UserActionEvent.FEATURE_USED ->
+                        new PendingSignal(event.customerId(), event.occurredAt(), null, 0);
+                case UserActionEvent.TRIAL_CONVERTED ->
+                        new PendingSignal(event.customerId(), null, event.occurredAt(), 0);
+                // Stored for analytics only
+                default -> null;
+            };
+            if (signal != null) {
+                byCustomer.merge(event.customerId(), signal, UserActionService::earliest);
+            }
+        }
+        jdbcTemplate.batchUpdate(QUEUE_SIGNAL_SQL, byCustomer.values(), props.insertChunkSize(), (ps, signal) -> {
+            ps.setObject(1, signal.customerId());
+            ps.setTimestamp(2, toTimestamp(signal.activeAt()));
+            ps.setTimestamp(3, toTimestamp(signal.convertedAt()));
+        });
+    }
+
+    private static PendingSignal earliest(PendingSignal a, PendingSignal b) {
+        return new PendingSignal(a.customerId(), earliest(a.activeAt(), b.activeAt()),
+                earliest(a.convertedAt(), b.convertedAt()), 0);
+    }
+
+    private static Instant earliest(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isBefore(b) ? a : b;
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    private String toJson(UserActionEvent event) {
+        if (event.data() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.data());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Action data is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.hooswhere.onboardFlow.temporal;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.hooswhere.onboardFlow.config.BulkSignalProps;
+import com.hooswhere.onboardFlow.config.Roles;
+import com.hooswhere.onboardFlow.models.BulkSignalType;
+import com.hooswhere.onboardFlow.models.KeysetPage;
+import com.hooswhere.onboardFlow.models.OnboardingProgressFilter;
+import com.hooswhere.onboardFlow.models.OnboardingSummary;
+import com.hooswhere.onboardFlow.models.PageCursor;
+import com.hooswhere.onboardFlow.service.OnboardingService;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs bulk signal jobs: pages through onboarding_progress with the selection filter and signals
+ * each workflow from a bounded sender pool under a shared rate limit. Jobs live in memory only, so
+ * a restart drops their status; rerunning a job is safe because the signals are idempotent.
+ */
+@Component
+@Profile({Roles.API, Roles.ALL})
+public class BulkSignalDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(BulkSignalDispatcher.class);
+
+    private final WorkflowClient workflowClient;
+    private final OnboardingService onboardingService;
+    private final BulkSignalProps props;
+    private final RateLimiter signalRateLimiter;
+    private final ExecutorService jobRunner;
+    private final ExecutorService senders;
+    private final Cache<UUID, BulkSignalJob> jobs;
+
+    public BulkSignalDispatcher(WorkflowClient workflowClient, OnboardingService onboardingService, BulkSignalProps props) {
+        this.workflowClient = workflowClient;
+        this.onboardingService = onboardingService;
+        this.props = props;
+        this.signalRateLimiter = RateLimiter.create(props.maxSignalsPerSecond());
+        this.jobRunner = Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder().setNameFormat("bulk-signal-job-%d").setDaemon(true).build());
+        this.senders = Executors.newFixedThreadPool(props.parallelism(),
+                new ThreadFactoryBuilder().setNameFormat("bulk-signal-sender-%d").setDaemon(true).build());
+        this.jobs = CacheBuilder.newBuilder().maximumSize(props.retainedJobs()).build();
+    }
+
+    public BulkSignalJob submit(BulkSignalType signal, OnboardingProgressFilter filter) {
+        BulkSignalJob job = new BulkSignalJob(signal);
+        jobs.put(job.getId(), job);
+        logger.info("Starting bulk {} job {} for {}", signal, job.getId(), filter);
+        jobRunner.execute(() -> run(job, filter));
+        return job;
+    }
+
+    public Optional<BulkSignalJob> getJob(UUID jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobRunner.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private void run(BulkSignalJob job, OnboardingProgressFilter filter) {
+        // Per-job bound so the job can wait for its own outstanding signals before finishing
+        Semaphore inFlight = new Semaphore(props.parallelism());
+        try {
+            PageCursor cursor = null;
+            do {
+                KeysetPage<OnboardingSummary> page = onboardingService.listOnboardings(filter, cursor, props.pageSize());
+                job.addMatched(page.items().size());
+                for (OnboardingSummary onboarding : page.items()) {
+                    inFlight.acquire();
+                    signalRateLimiter.acquire();
+                    senders.execute(() -> {
+                        try {
+                            signal(job, onboarding.workflowId());
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            inFlight.acquire(props.parallelism());
+            job.finish(BulkSignalJob.State.COMPLETED);
+            logger.info("Bulk {} job {} finished: {} signalled, {} skipped, {} failed",
+                    job.getSignal(), job.getId(), job.getSignalled(), job.getSkipped(), job.getFailed());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.recordFailed("Interrupted");
+            job.finish(BulkSignalJob.State.FAILED);
+        } catch (Exception e) {
+            logger.error("Bulk {} job {} failed", job.getSignal(), job.getId(), e);
+            job.recordFailed(e.getMessage());
+            job.finish(BulkSignalJob.State.FAILED);
+        }
+    }
+
+    private void signal(BulkSignalJob job, String workflowId) {
+        try {
+            OnboardingWorkflow workflow = workflowClient.newWorkflowStub(OnboardingWorkflow.class, workflowId);
+            switch (job.getSignal()) {
+                case PAUSE -> workflow.pauseOnboarding();
+                case RESUME -> workflow.resumeOnboarding();
+                case CANCEL -> workflow.cancelOnboarding();
+            }
+            job.recordSignalled();
+        } catch (WorkflowNotFoundException e) {
+            // Workflow already closed; the progress row has not caught up yet
+            job.recordSkipped();
+        } catch (Exception e) {
+            logger.warn("Failed to signal workflow {} in bulk job {}", workflowId, job.getId(), e);
+            job.recordFailed(e.getMessage());
+        }
+    }
+}
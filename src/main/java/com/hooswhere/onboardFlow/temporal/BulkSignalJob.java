@@ -0,0 +1,96 @@
+package com.hooswhere.onboardFlow.temporal;
+
+import com.hooswhere.onboardFlow.models.BulkSignalType;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live counters of one bulk signal run. Updated concurrently by the sender threads.
+ */
+public class BulkSignalJob {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final BulkSignalType signal;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong matched = new AtomicLong();
+    private final AtomicLong signalled = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String lastError;
+
+    BulkSignalJob(BulkSignalType signal) {
+        this.signal = signal;
+    }
+
+    void addMatched(int count) {
+        matched.addAndGet(count);
+    }
+
+    void recordSignalled() {
+        signalled.incrementAndGet();
+    }
+
+    void recordSkipped() {
+        skipped.incrementAndGet();
+    }
+
+    void recordFailed(String error) {
+        failed.incrementAndGet();
+        lastError = error;
+    }
+
+    void finish(State finalState) {
+        state = finalState;
+        finishedAt = Instant.now();
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public BulkSignalType getSignal() {
+        return signal;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getMatched() {
+        return matched.get();
+    }
+
+    public long getSignalled() {
+        return signalled.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
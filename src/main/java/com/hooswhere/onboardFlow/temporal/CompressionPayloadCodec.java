@@ -0,0 +1,50 @@
+package com.hooswhere.onboardFlow.temporal;
+
+import io.temporal.api.common.v1.Payload;
+import io.temporal.payload.codec.PayloadCodec;
+import io.temporal.payload.codec.ZlibPayloadCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compresses payloads of at least {@code thresholdBytes} with the SDK's zlib codec and leaves
+ * smaller ones as they are, since the zlib header and metadata outweigh the saving on ids and
+ * flags. Decoding accepts compressed and uncompressed payloads alike, so it can run on every worker
+ * before encoding is switched on.
+ */
+public class CompressionPayloadCodec implements PayloadCodec {
+    private final ZlibPayloadCodec zlib;
+    private final int thresholdBytes;
+    private final boolean encode;
+
+    public CompressionPayloadCodec(int thresholdBytes, boolean encode) {
+        this.zlib = new ZlibPayloadCodec();
+        this.thresholdBytes = thresholdBytes;
+        this.encode = encode;
+    }
+
+    @Override
+    public List<Payload> encode(List<Payload> payloads) {
+        if (!encode) {
+            return payloads;
+        }
+        List<Payload> encoded = new ArrayList<>(payloads.size());
+        for (Payload payload : payloads) {
+            encoded.add(payload.getSerializedSize() >= thresholdBytes ? compress(payload) : payload);
+        }
+        return encoded;
+    }
+
+    @Override
+    public List<Payload> decode(List<Payload> payloads) {
+        // Payloads without the zlib encoding pass through unchanged
+        return zlib.decode(payloads);
+    }
+
+    private Payload compress(Payload payload) {
+        Payload compressed = zlib.encode(List.of(payload)).get(0);
+        // Values that are already dense can grow; keep whichever is smaller
+        return compressed.getSerializedSize() < payload.getSerializedSize() ? compressed : payload;
+    }
+}
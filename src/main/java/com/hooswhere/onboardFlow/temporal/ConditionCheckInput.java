@@ -5,6 +5,7 @@ import java.util.UUID;
 
 public record ConditionCheckInput(
     UUID customerId,
+    UUID progressId,
     String customerEmail,
     List<String> conditions,
     String workflowId,
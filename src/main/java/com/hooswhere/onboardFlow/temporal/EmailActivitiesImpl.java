@@ -1,42 +1,93 @@
 package com.hooswhere.onboardFlow.temporal;
 
+import com.hooswhere.onboardFlow.config.MetricsConfig;
+import com.hooswhere.onboardFlow.config.Roles;
+import com.hooswhere.onboardFlow.models.CustomerRequest;
 import com.hooswhere.onboardFlow.models.EmailSequenceConfig;
 import com.hooswhere.onboardFlow.models.EmailTemplate;
 import com.hooswhere.onboardFlow.models.EmailTemplateContext;
+import com.hooswhere.onboardFlow.service.CustomerEngagementService;
+import com.hooswhere.onboardFlow.service.CustomerEngagementService.Engagement;
+import com.hooswhere.onboardFlow.service.CustomerService;
+import com.hooswhere.onboardFlow.service.EmailEventService;
+import com.hooswhere.onboardFlow.service.EmailOutboxService;
+import com.hooswhere.onboardFlow.service.EmailSendLedgerService;
 import com.hooswhere.onboardFlow.service.EmailSequenceService;
-import com.hooswhere.onboardFlow.service.EmailService;
 import com.hooswhere.onboardFlow.service.EmailTemplateService;
+import com.hooswhere.onboardFlow.service.OnboardingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.temporal.activity.Activity;
+import io.temporal.activity.ActivityExecutionContext;
 import io.temporal.spring.boot.ActivityImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Map;
 import java.util.UUID;
 
 @Component
-@ActivityImpl(taskQueues = OnboardingWorkflowImpl.TASK_QUEUE)
+@Profile({Roles.WORKER, Roles.ALL})
+// Still registered on the workflow queue for activities scheduled there before the queues were split
+@ActivityImpl(taskQueues = {
+        OnboardingWorkflowImpl.TASK_QUEUE,
+        OnboardingWorkflowImpl.SEND_TASK_QUEUE,
+        OnboardingWorkflowImpl.DATA_TASK_QUEUE,
+        OnboardingWorkflowImpl.EVENTS_TASK_QUEUE
+})
 public class EmailActivitiesImpl implements EmailActivities {
     private static final Logger logger = LoggerFactory.getLogger(EmailActivitiesImpl.class);
     
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
+    private final EmailSendLedgerService sendLedgerService;
     private final EmailTemplateService emailTemplateService;
     private final EmailSequenceService emailSequenceService;
+    private final OnboardingService onboardingService;
+    private final CustomerService customerService;
+    private final EmailEventService emailEventService;
+    private final CustomerEngagementService engagementService;
+    private final MeterRegistry meterRegistry;
     
-    public EmailActivitiesImpl(EmailService emailService, EmailTemplateService emailTemplateService, EmailSequenceService emailSequenceService) {
-        this.emailService = emailService;
+    public EmailActivitiesImpl(EmailOutboxService emailOutboxService, EmailSendLedgerService sendLedgerService,
+                               EmailTemplateService emailTemplateService, EmailSequenceService emailSequenceService,
+                               OnboardingService onboardingService, CustomerService customerService,
+                               EmailEventService emailEventService, CustomerEngagementService engagementService,
+                               MeterRegistry meterRegistry) {
+        this.emailOutboxService = emailOutboxService;
+        this.sendLedgerService = sendLedgerService;
         this.emailTemplateService = emailTemplateService;
         this.emailSequenceService = emailSequenceService;
+        this.onboardingService = onboardingService;
+        this.customerService = customerService;
+        this.emailEventService = emailEventService;
+        this.engagementService = engagementService;
+        this.meterRegistry = meterRegistry;
     }
     
     @Override
     public void sendEmail(SendEmailInput input) {
-        logger.info("Sending email for template: {} to customer: {}", input.emailTemplateId(), input.customerEmail());
+        logger.info("Sending email for template: {} to customer: {}", input.emailTemplateId(), input.customerId());
+        ActivityExecutionContext activityContext = Activity.getExecutionContext();
+        
+        // A retry of a step that already reached SES completes without sending again
+        if (sendLedgerService.isSent(input.workflowId(), input.stepNumber())) {
+            logger.info("Email for workflow {} step {} already sent, skipping", input.workflowId(), input.stepNumber());
+            emailCounter("skipped", input.emailTemplateId()).increment();
+            return;
+        }
         
         try {
+            CustomerRequest customer = resolveCustomer(input);
+            
             // Build template context
             EmailTemplateContext context = EmailTemplateContext.builder()
-                    .customer(input.customerFirstName(), input.customerLastName(), input.customerEmail(), input.companyName())
+                    .customer(customer.firstName(), customer.lastName(), customer.email(), customer.companyName())
                     .workflow(input.workflowId(), input.stepNumber())
                     .putAll(input.templateVariables())
                     .build();
@@ -57,37 +108,71 @@ public class EmailActivitiesImpl implements EmailActivities {
                     "customerId", input.customerId().toString()
             );
             
-            // Send the email
-            boolean success = emailService.sendEmail(
-                    input.customerEmail(),
-                    input.customerFirstName() + " " + input.customerLastName(),
-                    renderedTemplate.subject(),
-                    renderedTemplate.htmlBody(),
-                    renderedTemplate.textBody(),
-                    emailTags
+            // Queue the email; the outbox dispatcher sends it and completes this activity with the result
+            UUID outboxId = emailOutboxService.enqueue(
+                    input.workflowId(),
+                    input.stepNumber(),
+                    input.customerId(),
+                    customer.email(),
+                    customer.firstName() + " " + customer.lastName(),
+                    renderedTemplate,
+                    emailTags,
+                    activityContext.getTaskToken()
             );
+            activityContext.doNotCompleteOnReturn();
+            emailCounter("queued", input.emailTemplateId()).increment();
             
-            if (!success) {
-                throw new RuntimeException("Failed to send email to: " + input.customerEmail());
-            }
-            
-            logger.info("Successfully sent email {} to {}", input.emailTemplateId(), input.customerEmail());
+            logger.info("Queued email {} to {} as outbox message {}", input.emailTemplateId(), customer.email(), outboxId);
             
         } catch (Exception e) {
             logger.error("Failed to send email for template: {} to customer: {}", 
-                        input.emailTemplateId(), input.customerEmail(), e);
+                        input.emailTemplateId(), input.customerId(), e);
             throw e;
         }
     }
     
+    // Older executions embed the customer in the input; newer ones pass only its id
+    private CustomerRequest resolveCustomer(SendEmailInput input) {
+        if (input.customerEmail() != null) {
+            return new CustomerRequest(input.customerEmail(), input.customerFirstName(), input.customerLastName(),
+                    input.companyName(), null, Map.of());
+        }
+        return customerService.getDetails(input.customerId())
+                .orElseThrow(() -> new IllegalStateException("Customer not found: " + input.customerId()));
+    }
+    
+    private Counter emailCounter(String outcome, String templateSlug) {
+        return Counter.builder(MetricsConfig.METER_PREFIX + "email.activity")
+                .description("sendEmail activity outcomes")
+                .tag(MetricsConfig.TEMPLATE_TAG, templateSlug)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
     @Override
     public boolean checkEmailConditions(ConditionCheckInput input) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean met = conditionsMet(input);
+        sample.stop(Timer.builder(MetricsConfig.METER_PREFIX + "condition.check")
+                .description("Time to evaluate the send conditions of a step")
+                .tag("result", met ? "met" : "not_met")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        return met;
+    }
+    
+    private boolean conditionsMet(ConditionCheckInput input) {
         logger.debug("Checking conditions for customer: {} - {}", input.customerEmail(), input.conditions());
         
-        // For now, implement basic condition checking
-        // In a real implementation, this would check user activity, email opens, etc.
+        Engagement engagement = engagementService.find(input.progressId(), input.workflowId()).orElse(null);
+        if (engagement == null) {
+            // Without a progress row there is nothing to check against; send as before
+            logger.warn("No onboarding progress for workflow: {}, treating conditions as met", input.workflowId());
+            return true;
+        }
+        
         for (String condition : input.conditions()) {
-            boolean conditionMet = checkSingleCondition(input, condition);
+            boolean conditionMet = checkSingleCondition(engagement, condition);
             if (!conditionMet) {
                 logger.debug("Condition not met: {} for customer: {}", condition, input.customerEmail());
                 return false;
@@ -98,38 +183,18 @@ public class EmailActivitiesImpl implements EmailActivities {
         return true;
     }
     
-    private boolean checkSingleCondition(ConditionCheckInput input, String condition) {
-        // Placeholder implementation - in real system, these would check actual data
-        switch (condition) {
-            case ConditionCheckInput.USER_NOT_ACTIVE:
-                // Check if user has logged in recently
-                // For now, assume user is not active (condition met)
-                return true;
-                
-            case ConditionCheckInput.EMAIL_NOT_OPENED:
-                // Check if previous emails were opened
-                // For now, assume email was not opened (condition met)
-                return true;
-                
-            case ConditionCheckInput.USER_NOT_CONVERTED:
-                // Check if user has converted (upgraded, purchased, etc.)
-                // For now, assume user has not converted (condition met)
-                return true;
-                
-            case ConditionCheckInput.NO_RECENT_LOGIN:
-                // Check if user has logged in recently
-                // For now, assume no recent login (condition met)
-                return true;
-                
-            case ConditionCheckInput.FEATURE_NOT_USED:
-                // Check if user has used key features
-                // For now, assume feature not used (condition met)
-                return true;
-                
-            default:
+    private boolean checkSingleCondition(Engagement engagement, String condition) {
+        return switch (condition) {
+            case ConditionCheckInput.USER_NOT_ACTIVE -> !engagement.activeSinceStart();
+            case ConditionCheckInput.EMAIL_NOT_OPENED -> !engagement.emailOpened();
+            case ConditionCheckInput.USER_NOT_CONVERTED -> !engagement.converted();
+            case ConditionCheckInput.NO_RECENT_LOGIN -> !engagement.recentLogin();
+            case ConditionCheckInput.FEATURE_NOT_USED -> !engagement.featureUsed();
+            default -> {
                 logger.warn("Unknown condition: {}", condition);
-                return true; // Default to condition met for unknown conditions
-        }
+                yield true; // Default to condition met for unknown conditions
+            }
+        };
     }
     
     @Override
@@ -137,10 +202,15 @@ public class EmailActivitiesImpl implements EmailActivities {
         logger.info("Logging email event: {} for customer: {}, template: {}", 
                    input.eventType(), input.customerId(), input.emailTemplateId());
         
-        // In a real implementation, this would store the event in the database
-        // For now, just log it
-        
-        // TODO: Implement actual event logging to email_events table
+        emailEventService.record(
+                input.customerId(),
+                input.progressId(),
+                input.workflowId(),
+                input.stepNumber(),
+                input.eventType(),
+                input.emailTemplateId(),
+                input.eventData()
+        );
     }
     
     @Override
@@ -148,22 +218,42 @@ public class EmailActivitiesImpl implements EmailActivities {
         logger.debug("Updating onboarding progress for workflow: {} - Step: {}, Status: {}", 
                     input.workflowId(), input.currentStep(), input.status());
         
-        // In a real implementation, this would update the onboarding_progress table
-        // For now, just log it
-        
-        // TODO: Implement actual progress update to onboarding_progress table
+        onboardingService.recordProgress(
+                input.progressId(),
+                input.workflowId(),
+                input.status(),
+                input.currentStep(),
+                toInstant(input.lastActivityAt()),
+                toInstant(input.completedAt()),
+                input.metadata()
+        );
+    }
+    
+    private static Instant toInstant(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC) : null;
     }
     
     @Override
     public EmailSequenceConfig loadEmailSequence(UUID sequenceId) {
         logger.debug("Loading email sequence: {}", sequenceId);
         
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
-            return emailSequenceService.getSequenceById(sequenceId)
+            EmailSequenceConfig sequence = emailSequenceService.getSequenceById(sequenceId)
                     .orElse(null);
+            outcome = sequence != null ? "found" : "missing";
+            return sequence;
         } catch (Exception e) {
             logger.error("Failed to load email sequence: {}", sequenceId, e);
             throw e;
+        } finally {
+            sample.stop(Timer.builder(MetricsConfig.METER_PREFIX + "sequence.load")
+                    .description("Time to load a sequence and its steps")
+                    .tag(MetricsConfig.SEQUENCE_TAG, String.valueOf(sequenceId))
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
         }
     }
 }
\ No newline at end of file
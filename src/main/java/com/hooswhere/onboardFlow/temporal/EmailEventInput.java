@@ -5,6 +5,7 @@ import java.util.UUID;
 
 public record EmailEventInput(
     UUID customerId,
+    UUID progressId,
     String workflowId,
     String eventType,
     String emailTemplateId,
@@ -20,12 +21,12 @@ public record EmailEventInput(
     public static final String EVENT_FAILED = "failed";
     public static final String EVENT_UNSUBSCRIBED = "unsubscribed";
     
-    public static EmailEventInput sent(UUID customerId, String workflowId, String emailTemplateId, int stepNumber) {
-        return new EmailEventInput(customerId, workflowId, EVENT_SENT, emailTemplateId, stepNumber, Map.of());
+    public static EmailEventInput sent(UUID customerId, UUID progressId, String workflowId, String emailTemplateId, int stepNumber) {
+        return new EmailEventInput(customerId, progressId, workflowId, EVENT_SENT, emailTemplateId, stepNumber, Map.of());
     }
     
-    public static EmailEventInput failed(UUID customerId, String workflowId, String emailTemplateId, int stepNumber, String reason) {
-        return new EmailEventInput(customerId, workflowId, EVENT_FAILED, emailTemplateId, stepNumber, 
+    public static EmailEventInput failed(UUID customerId, UUID progressId, String workflowId, String emailTemplateId, int stepNumber, String reason) {
+        return new EmailEventInput(customerId, progressId, workflowId, EVENT_FAILED, emailTemplateId, stepNumber, 
                                   Map.of("reason", reason));
     }
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+package com.hooswhere.onboardFlow.temporal;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.hooswhere.onboardFlow.config.EmailOutboxProps;
+import com.hooswhere.onboardFlow.config.Roles;
+import com.hooswhere.onboardFlow.entity.EmailOutboxEntity;
+import com.hooswhere.onboardFlow.entity.EmailSendLedgerEntity;
+import com.hooswhere.onboardFlow.service.EmailOutboxService;
+import com.hooswhere.onboardFlow.service.EmailSendLedgerService;
+import com.hooswhere.onboardFlow.service.EmailService;
+import com.hooswhere.onboardFlow.service.TraceContextService;
+import io.temporal.client.ActivityCompletionClient;
+import io.opentelemetry.context.Scope;
+import io.temporal.client.ActivityCompletionException;
+import io.temporal.failure.ApplicationFailure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the email outbox into SES with a dedicated pool of senders and completes the waiting
+ * {@code sendEmail} activities with the outcome. Activity slots are released as soon as a message
+ * is queued, so SES latency no longer backs up the Temporal worker.
+ */
+@Component
+@Profile({Roles.WORKER, Roles.ALL})
+public class EmailOutboxDispatcher implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    private static final String SEND_OUTCOME_UNKNOWN = "SendOutcomeUnknown";
+
+    private final EmailOutboxService outboxService;
+    private final EmailSendLedgerService sendLedgerService;
+    private final EmailService emailService;
+    private final TraceContextService traceContextService;
+    private final ActivityCompletionClient completionClient;
+    private final EmailOutboxProps props;
+    private final RateLimiter sendRateLimiter;
+
+    private ScheduledExecutorService poller;
+    private ExecutorService senders;
+    // Bounds claimed-but-unsent messages so rows are not held past the claim timeout
+    private Semaphore inFlight;
+    private volatile boolean running = false;
+
+    public EmailOutboxDispatcher(EmailOutboxService outboxService, EmailSendLedgerService sendLedgerService,
+                                 EmailService emailService, TraceContextService traceContextService,
+                                 ActivityCompletionClient completionClient, EmailOutboxProps props) {
+        this.outboxService = outboxService;
+        this.sendLedgerService = sendLedgerService;
+        this.emailService = emailService;
+        this.traceContextService = traceContextService;
+        this.completionClient = completionClient;
+        this.props = props;
+        this.sendRateLimiter = RateLimiter.create(props.maxSendsPerSecond());
+    }
+
+    @Override
+    public void start() {
+        if (!props.dispatcherEnabled()) {
+            logger.info("Email outbox dispatcher disabled");
+            return;
+        }
+        inFlight = new Semaphore(props.senders() * 2);
+        senders = Executors.newFixedThreadPool(props.senders(),
+                new ThreadFactoryBuilder().setNameFormat("outbox-sender-%d").setDaemon(true).build());
+        poller = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("outbox-poller-%d").setDaemon(true).build());
+        poller.scheduleWithFixedDelay(this::pollSafely, 0, props.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+        logger.info("Email outbox dispatcher started with {} senders at {} sends/s",
+                props.senders(), props.maxSendsPerSecond());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (poller == null) {
+            return;
+        }
+        poller.shutdown();
+        senders.shutdown();
+        try {
+            if (!senders.awaitTermination(30, TimeUnit.SECONDS)) {
+                // Unsent claims are picked up by another dispatcher after the claim timeout
+                logger.warn("Outbox senders did not finish in time, {} messages left claimed",
+                        props.senders() * 2 - inFlight.availablePermits());
+                senders.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            senders.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (Exception e) {
+            logger.error("Failed to poll email outbox", e);
+        }
+    }
+
+    private void poll() {
+        int capacity = inFlight.availablePermits();
+        if (capacity == 0) {
+            return;
+        }
+        List<EmailOutboxEntity> batch = outboxService.claimBatch(Math.min(capacity, props.batchSize()), props.claimTimeout());
+        for (EmailOutboxEntity message : batch) {
+            inFlight.acquireUninterruptibly();
+            senders.execute(() -> {
+                // Continue the trace of the activity that queued the message, so the SES span joins it
+                try (Scope ignored = traceContextService.restore(message.getTraceContext()).makeCurrent()) {
+                    send(message);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void send(EmailOutboxEntity message) {
+        // Reserve the step before calling SES, so a retried or reclaimed message for the same step
+        // cannot hand a second copy to SES
+        if (!sendLedgerService.reserve(message.getWorkflowId(), message.getStepNumber(), message.getId())) {
+            handleReserved(message);
+            return;
+        }
+
+        sendRateLimiter.acquire();
+        EmailService.EmailSendResult result;
+        try {
+            result = emailService.sendEmailWithResult(
+                    message.getToEmail(),
+                    message.getToName(),
+                    message.getSubject(),
+                    message.getHtmlBody(),
+                    message.getTextBody(),
+                    message.getEmailTags() != null ? message.getEmailTags() : Map.of()
+            );
+        } catch (Exception e) {
+            result = EmailService.EmailSendResult.failure(e.getMessage());
+        }
+
+        if (result.isSuccess()) {
+            sendLedgerService.markSent(message.getWorkflowId(), message.getStepNumber(), result.getMessageId());
+            outboxService.markSent(message.getId(), result.getMessageId());
+            complete(message, () -> completionClient.complete(message.getTaskToken(), null));
+        } else if (result.isOutcomeUnknown()) {
+            failOutcomeUnknown(message, result.getErrorMessage());
+        } else {
+            // SES rejected the message, so a retry may send it
+            sendLedgerService.release(message.getWorkflowId(), message.getStepNumber());
+            outboxService.markFailed(message.getId(), result.getErrorMessage());
+            RuntimeException failure = new RuntimeException(
+                    "Failed to send email to: " + message.getToEmail() + ": " + result.getErrorMessage());
+            complete(message, () -> completionClient.completeExceptionally(message.getTaskToken(), failure));
+        }
+    }
+
+    // The step is reserved already: by a send that finished, by one still in flight, or by this
+    // message itself when it was reclaimed from a sender that died
+    private void handleReserved(EmailOutboxEntity message) {
+        EmailSendLedgerEntity reservation = sendLedgerService
+                .find(message.getWorkflowId(), message.getStepNumber())
+                .orElse(null);
+        if (reservation == null) {
+            // Released since the reserve attempt; claim the message again on the next poll
+            outboxService.defer(message.getId(), Duration.ZERO);
+            return;
+        }
+        switch (reservation.getStatus()) {
+            case SENT -> {
+                outboxService.markSkipped(message.getId());
+                complete(message, () -> completionClient.complete(message.getTaskToken(), null));
+            }
+            case UNKNOWN -> failOutcomeUnknown(message, "An earlier send of this step has an unknown outcome");
+            case SENDING -> {
+                if (message.getId().equals(reservation.getOutboxId())) {
+                    failOutcomeUnknown(message, "Sender stopped after reserving the step");
+                } else {
+                    // Wait for the other send; this message completes with its outcome
+                    outboxService.defer(message.getId(), props.reservedRetryDelay());
+                }
+            }
+        }
+    }
+
+    // SES may have accepted the email, so neither report it sent nor let a retry send it again
+    private void failOutcomeUnknown(EmailOutboxEntity message, String error) {
+        sendLedgerService.markUnknown(message.getWorkflowId(), message.getStepNumber());
+        outboxService.markFailed(message.getId(), error);
+        ApplicationFailure failure = ApplicationFailure.newNonRetryableFailure(
+                "Outcome of email to " + message.getToEmail() + " unknown: " + error, SEND_OUTCOME_UNKNOWN);
+        complete(message, () -> completionClient.completeExceptionally(message.getTaskToken(), failure));
+    }
+
+    private void complete(EmailOutboxEntity message, Runnable completion) {
+        try {
+            completion.run();
+        } catch (ActivityCompletionException e) {
+            // The activity timed out or the workflow is gone; the outbox row keeps the outcome
+            logger.warn("Could not complete sendEmail activity for workflow {} step {}",
+                    message.getWorkflowId(), message.getStepNumber(), e);
+        }
+    }
+}
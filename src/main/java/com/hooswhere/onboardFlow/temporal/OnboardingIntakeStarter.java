@@ -0,0 +1,135 @@
+package com.hooswhere.onboardFlow.temporal;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.hooswhere.onboardFlow.OnboardingAlreadyStartedException;
+import com.hooswhere.onboardFlow.config.IntakeProps;
+import com.hooswhere.onboardFlow.config.Roles;
+import com.hooswhere.onboardFlow.entity.OnboardingIntakeEntity;
+import com.hooswhere.onboardFlow.service.OnboardingIntakeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains onboarding_intake into Temporal through {@link OnboardingStarter}. Requests that can never
+ * start are rejected; other failures, such as Temporal being unavailable, are retried with a delay
+ * while the API keeps accepting requests.
+ */
+@Component
+@Profile({Roles.API, Roles.ALL})
+public class OnboardingIntakeStarter implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(OnboardingIntakeStarter.class);
+
+    private final OnboardingIntakeService intakeService;
+    private final OnboardingStarter onboardingStarter;
+    private final IntakeProps props;
+
+    private ScheduledExecutorService poller;
+    private ExecutorService starters;
+    // Bounds claimed-but-unstarted requests so rows are not held past the claim timeout
+    private Semaphore inFlight;
+    private volatile boolean running = false;
+
+    public OnboardingIntakeStarter(OnboardingIntakeService intakeService, OnboardingStarter onboardingStarter,
+                                   IntakeProps props) {
+        this.intakeService = intakeService;
+        this.onboardingStarter = onboardingStarter;
+        this.props = props;
+    }
+
+    @Override
+    public void start() {
+        if (!props.starterEnabled()) {
+            logger.info("Onboarding intake starter disabled");
+            return;
+        }
+        inFlight = new Semaphore(props.starters() * 2);
+        starters = Executors.newFixedThreadPool(props.starters(),
+                new ThreadFactoryBuilder().setNameFormat("intake-starter-%d").setDaemon(true).build());
+        poller = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("intake-poller-%d").setDaemon(true).build());
+        poller.scheduleWithFixedDelay(this::pollSafely, 0, props.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+        logger.info("Onboarding intake starter started with {} starters", props.starters());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (poller == null) {
+            return;
+        }
+        poller.shutdown();
+        starters.shutdown();
+        try {
+            if (!starters.awaitTermination(30, TimeUnit.SECONDS)) {
+                // Unstarted claims are picked up by another starter after the claim timeout
+                logger.warn("Intake starters did not finish in time, {} requests left claimed",
+                        props.starters() * 2 - inFlight.availablePermits());
+                starters.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            starters.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (Exception e) {
+            logger.error("Failed to poll onboarding intake", e);
+        }
+    }
+
+    private void poll() {
+        int capacity = inFlight.availablePermits();
+        if (capacity == 0) {
+            return;
+        }
+        List<OnboardingIntakeEntity> batch = intakeService.claimBatch(Math.min(capacity, props.batchSize()), props.claimTimeout());
+        for (OnboardingIntakeEntity intake : batch) {
+            inFlight.acquireUninterruptibly();
+            starters.execute(() -> {
+                try {
+                    startOnboarding(intake);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void startOnboarding(OnboardingIntakeEntity intake) {
+        try {
+            // The workflow id is derived from the intake id, so a reclaimed request whose start went
+            // through before its pod died finds that onboarding instead of being rejected
+            String workflowId = onboardingStarter.startOnboardingWorkflow(intakeService.toRequest(intake), workflowIdFor(intake));
+            intakeService.markStarted(intake.getId(), workflowId);
+        } catch (OnboardingAlreadyStartedException | IllegalArgumentException e) {
+            logger.info("Rejected intake request {}: {}", intake.getId(), e.getMessage());
+            intakeService.markRejected(intake.getId(), e.getMessage());
+        } catch (Exception e) {
+            logger.warn("Failed to start intake request {} (attempt {})", intake.getId(), intake.getAttempts(), e);
+            intakeService.markFailed(intake.getId(), e.getMessage(), props.maxAttempts(), props.retryDelay());
+        }
+    }
+
+    private static String workflowIdFor(OnboardingIntakeEntity intake) {
+        return "onboarding-intake-" + intake.getId();
+    }
+}
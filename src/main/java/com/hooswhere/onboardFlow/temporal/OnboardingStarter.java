@@ -3,5 +3,15 @@ package com.hooswhere.onboardFlow.temporal;
 import com.hooswhere.onboardFlow.models.StartOnboardingRequest;
 
 public interface OnboardingStarter {
-    void startOnboardingWorkflow(StartOnboardingRequest request);
+    /**
+     * Start onboarding and return the id of the started workflow.
+     */
+    String startOnboardingWorkflow(StartOnboardingRequest request);
+
+    /**
+     * Start onboarding under {@code workflowId}. Repeating a call whose start went through, or
+     * stopped after the progress row was saved, returns that onboarding (starting its workflow if
+     * needed) instead of rejecting the customer as already onboarding.
+     */
+    String startOnboardingWorkflow(StartOnboardingRequest request, String workflowId);
 }
@@ -10,7 +10,9 @@ import com.hooswhere.onboardFlow.repository.OnboardingProgressRepository;
 import com.hooswhere.onboardFlow.service.CustomerService;
 import com.hooswhere.onboardFlow.service.EmailSequenceService;
 import com.hooswhere.onboardFlow.service.OnboardingService;
+import io.temporal.api.enums.v1.WorkflowIdReusePolicy;
 import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowExecutionAlreadyStarted;
 import io.temporal.client.WorkflowOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +20,7 @@ import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
@@ -39,8 +42,20 @@ public class OnboardingStarterImpl implements OnboardingStarter {
         this.onboardingProgressRepository = onboardingProgressRepository;
     }
     @Override
-    public void startOnboardingWorkflow(StartOnboardingRequest request) throws OnboardingAlreadyStartedException {
+    public String startOnboardingWorkflow(StartOnboardingRequest request) throws OnboardingAlreadyStartedException {
+        return startOnboardingWorkflow(request, null);
+    }
+
+    @Override
+    public String startOnboardingWorkflow(StartOnboardingRequest request, String requestedWorkflowId)
+            throws OnboardingAlreadyStartedException {
         LOG.info("Starting onboarding workflow with request: {}", request);
+        if (requestedWorkflowId != null) {
+            Optional<OnboardingProgressEntity> existing = onboardingProgressRepository.findByWorkflowId(requestedWorkflowId);
+            if (existing.isPresent()) {
+                return resume(existing.get());
+            }
+        }
         if (onboardingService.hasActiveOnboarding(request.customer().email())) {
             throw new OnboardingAlreadyStartedException("Customer already has an active onboarding process: " + request.customer().email());
         }
@@ -49,8 +64,10 @@ public class OnboardingStarterImpl implements OnboardingStarter {
         CustomerEntity customer = customerService.createOrUpdateCustomer(request.customer());
         LOG.info("Customer created or updated: {}", customer);
 
-        // Generate unique workflow ID
-        String workflowId = "onboarding-" + customer.getId() + "-" + System.currentTimeMillis();
+        // Generate unique workflow ID unless the caller chose one
+        String workflowId = requestedWorkflowId != null
+                ? requestedWorkflowId
+                : "onboarding-" + customer.getId() + "-" + System.currentTimeMillis();
         
         // Determine which sequence to use based on the request.sequenceId
         EmailSequenceConfig sequence;
@@ -69,25 +86,19 @@ public class OnboardingStarterImpl implements OnboardingStarter {
         LOG.info("Using email sequence: {} for customer: {}", sequence.name(), customer.getEmail());
         
         // Create onboarding progress record
-        OnboardingProgressEntity progress = createOnboardingProgress(customer, sequence.id(), workflowId);
-        onboardingProgressRepository.save(progress);
+        OnboardingProgressEntity progress = createOnboardingProgress(customer, sequence.id(), workflowId, request.metadata());
+        progress = onboardingProgressRepository.save(progress);
         
-        // Create workflow input
+        // The workflow carries only keys; customer details and metadata stay out of its history
         OnboardingWorkflowInput workflowInput = OnboardingWorkflowInput.create(
-            request.customer(),
+            customer.getId(),
+            progress.getId(),
             sequence.id(),
-            workflowId,
-            request.metadata()
+            workflowId
         );
         
-        // Configure workflow options
-        WorkflowOptions options = WorkflowOptions.newBuilder()
-            .setWorkflowId(workflowId)
-            .setTaskQueue("onboarding-task-queue")
-            .build();
-        
         // Start the workflow
-        OnboardingWorkflow workflow = client.newWorkflowStub(OnboardingWorkflow.class, options);
+        OnboardingWorkflow workflow = client.newWorkflowStub(OnboardingWorkflow.class, workflowOptions(workflowId));
         
         try {
             // Start workflow asynchronously
@@ -96,13 +107,46 @@ public class OnboardingStarterImpl implements OnboardingStarter {
                     workflowId, customer.getEmail());
         } catch (Exception e) {
             LOG.error("Failed to start onboarding workflow for customer: {}", customer.getEmail(), e);
-            // Clean up the progress record if workflow start fails
-            onboardingProgressRepository.delete(progress);
+            // Clean up the progress record if workflow start fails. With a requested id it is kept for the
+            // retry to resume, since a start that timed out may still have gone through
+            if (requestedWorkflowId == null) {
+                onboardingProgressRepository.delete(progress);
+            }
             throw new RuntimeException("Failed to start onboarding workflow", e);
         }
+        return workflowId;
+    }
+
+    // An earlier call saved this progress row; its workflow may or may not have been started
+    private String resume(OnboardingProgressEntity progress) {
+        OnboardingWorkflowInput workflowInput = OnboardingWorkflowInput.create(
+            progress.getCustomerId(),
+            progress.getId(),
+            progress.getSequenceId(),
+            progress.getWorkflowId()
+        );
+        OnboardingWorkflow workflow = client.newWorkflowStub(OnboardingWorkflow.class, workflowOptions(progress.getWorkflowId()));
+        try {
+            WorkflowClient.start(workflow::executeOnboardingSequence, workflowInput);
+            LOG.info("Started onboarding workflow {} left unstarted by an earlier attempt", progress.getWorkflowId());
+        } catch (WorkflowExecutionAlreadyStarted e) {
+            LOG.info("Onboarding workflow {} was already started by an earlier attempt", progress.getWorkflowId());
+        }
+        // The progress row is kept on failure, so the next attempt resumes it again
+        return progress.getWorkflowId();
+    }
+
+    // Rejecting duplicates keeps a resumed start from running a workflow that already completed again
+    private static WorkflowOptions workflowOptions(String workflowId) {
+        return WorkflowOptions.newBuilder()
+            .setWorkflowId(workflowId)
+            .setTaskQueue("onboarding-task-queue")
+            .setWorkflowIdReusePolicy(WorkflowIdReusePolicy.WORKFLOW_ID_REUSE_POLICY_REJECT_DUPLICATE)
+            .build();
     }
     
-    private OnboardingProgressEntity createOnboardingProgress(CustomerEntity customer, UUID sequenceId, String workflowId) {
+    private OnboardingProgressEntity createOnboardingProgress(CustomerEntity customer, UUID sequenceId, String workflowId,
+                                                              Map<String, Object> metadata) {
         OnboardingProgressEntity progress = new OnboardingProgressEntity();
         progress.setCustomerId(customer.getId());
         progress.setSequenceId(sequenceId);
@@ -111,7 +155,7 @@ public class OnboardingStarterImpl implements OnboardingStarter {
         progress.setCurrentStep(0);
         progress.setStartedAt(Instant.now());
         progress.setLastActivityAt(Instant.now());
-        progress.setMetadata(Map.of()); // Empty map
+        progress.setMetadata(metadata != null ? metadata : Map.of());
         return progress;
     }
 }
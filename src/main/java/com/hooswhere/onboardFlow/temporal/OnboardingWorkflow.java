@@ -6,6 +6,8 @@ import io.temporal.workflow.SignalMethod;
 import io.temporal.workflow.WorkflowInterface;
 import io.temporal.workflow.WorkflowMethod;
 
+import java.time.Instant;
+
 @WorkflowInterface
 public interface OnboardingWorkflow {
     
@@ -21,11 +23,17 @@ public interface OnboardingWorkflow {
     @SignalMethod
     void cancelOnboarding();
     
+    /**
+     * @param activeAt when the activity happened; null in signals sent before the timestamp was added
+     */
     @SignalMethod
-    void markUserAsActive();
+    void markUserAsActive(Instant activeAt);
     
+    /**
+     * @param convertedAt when the conversion happened; null in signals sent before the timestamp was added
+     */
     @SignalMethod
-    void markUserAsConverted();
+    void markUserAsConverted(Instant convertedAt);
     
     @QueryMethod
     OnboardingProgressInfo getProgress();
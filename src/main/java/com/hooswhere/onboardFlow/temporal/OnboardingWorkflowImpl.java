@@ -3,13 +3,15 @@ package com.hooswhere.onboardFlow.temporal;
 import com.hooswhere.onboardFlow.OnboardingProgressInfo;
 import com.hooswhere.onboardFlow.OnboardingStatus;
 import io.temporal.activity.ActivityOptions;
+import io.temporal.common.RetryOptions;
 import io.temporal.spring.boot.WorkflowImpl;
 import io.temporal.workflow.Workflow;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -17,6 +19,20 @@ import java.util.Map;
 public class OnboardingWorkflowImpl implements OnboardingWorkflow {
     private static final Logger logger = Workflow.getLogger(OnboardingWorkflowImpl.class);
     public static final String TASK_QUEUE = "onboarding-task-queue";
+    // Activities run on their own queues so slow SES sends do not hold slots needed by database work
+    public static final String SEND_TASK_QUEUE = "onboarding-send-task-queue";
+    public static final String DATA_TASK_QUEUE = "onboarding-data-task-queue";
+    public static final String EVENTS_TASK_QUEUE = "onboarding-events-task-queue";
+    private static final String PERSIST_PROGRESS_CHANGE = "persist-progress";
+    private static final String IDEMPOTENT_CONVERSION_CHANGE = "idempotent-conversion";
+    private static final String DETERMINISTIC_IDS_CHANGE = "deterministic-ids";
+    private static final String CONDITIONS_BY_CUSTOMER_ID_CHANGE = "conditions-by-customer-id";
+    
+    private static final RetryOptions ACTIVITY_RETRY_OPTIONS = RetryOptions.newBuilder()
+        .setMaximumAttempts(3)
+        .setInitialInterval(Duration.ofSeconds(1))
+        .setMaximumInterval(Duration.ofMinutes(1))
+        .build();
     
     // Workflow state
     private OnboardingWorkflowInput input;
@@ -29,28 +45,45 @@ public class OnboardingWorkflowImpl implements OnboardingWorkflow {
     private LocalDateTime completedAt;
     private Map<String, Object> workflowMetadata = new HashMap<>();
     
-    // Activity stub (will be implemented in Phase 4)
-    private final EmailActivities emailActivities = Workflow.newActivityStub(
+    // Sequence loading, condition checks and progress updates
+    private final EmailActivities dataActivities = Workflow.newActivityStub(
+        EmailActivities.class,
+        ActivityOptions.newBuilder()
+            .setTaskQueue(DATA_TASK_QUEUE)
+            .setStartToCloseTimeout(Duration.ofMinutes(2))
+            .setRetryOptions(ACTIVITY_RETRY_OPTIONS)
+            .build()
+    );
+    
+    private final EmailActivities eventActivities = Workflow.newActivityStub(
         EmailActivities.class,
         ActivityOptions.newBuilder()
+            .setTaskQueue(EVENTS_TASK_QUEUE)
             .setStartToCloseTimeout(Duration.ofMinutes(2))
-            .setRetryOptions(
-                io.temporal.common.RetryOptions.newBuilder()
-                    .setMaximumAttempts(3)
-                    .setInitialInterval(Duration.ofSeconds(1))
-                    .setMaximumInterval(Duration.ofMinutes(1))
-                    .build()
-            )
+            .setRetryOptions(ACTIVITY_RETRY_OPTIONS)
+            .build()
+    );
+    
+    // sendEmail only queues the message and is completed by the outbox dispatcher once SES answers,
+    // so its timeout has to cover time spent waiting behind the send rate limit
+    private final EmailActivities sendActivities = Workflow.newActivityStub(
+        EmailActivities.class,
+        ActivityOptions.newBuilder()
+            .setTaskQueue(SEND_TASK_QUEUE)
+            .setStartToCloseTimeout(Duration.ofMinutes(15))
+            .setRetryOptions(ACTIVITY_RETRY_OPTIONS)
             .build()
     );
 
     @Override
     public void executeOnboardingSequence(OnboardingWorkflowInput input) {
         this.input = input;
-        this.workflowMetadata.putAll(input.metadata());
+        if (input.metadata() != null) {
+            this.workflowMetadata.putAll(input.metadata());
+        }
         
         logger.info("Starting onboarding workflow for customer: {} with sequence: {}", 
-                   input.customer().email(), input.sequenceId());
+                   customerLabel(), input.sequenceId());
 
         try {
             // Update initial progress
@@ -63,13 +96,13 @@ public class OnboardingWorkflowImpl implements OnboardingWorkflow {
             // Mark as completed if we reach the end without cancellation
             if (!cancelled && !userConverted) {
                 status = OnboardingStatus.COMPLETED;
-                completedAt = LocalDateTime.now();
+                completedAt = workflowNow();
                 updateProgress();
-                logger.info("Onboarding sequence completed for customer: {}", input.customer().email());
+                logger.info("Onboarding sequence completed for customer: {}", customerLabel());
             }
             
         } catch (Exception e) {
-            logger.error("Error in onboarding workflow for customer: {}", input.customer().email(), e);
+            logger.error("Error in onboarding workflow for customer: {}", customerLabel(), e);
             status = OnboardingStatus.CANCELLED;
             updateProgress();
             throw e;
@@ -77,11 +110,11 @@ public class OnboardingWorkflowImpl implements OnboardingWorkflow {
     }
     
     private void executeEmailSequence() {
-        logger.info("Executing email sequence: {} for customer: {}", input.sequenceId(), input.customer().email());
+        logger.info("Executing email sequence: {} for customer: {}", input.sequenceId(), customerLabel());
         
         try {
             // Load the email sequence from database using the activity
-            var sequenceConfig = emailActivities.loadEmailSequence(input.sequenceId());
+            var sequenceConfig = dataActivities.loadEmailSequence(input.sequenceId());
             
             if (sequenceConfig == null) {
                 logger.error("Email sequence not found: {}", input.sequenceId());
@@ -131,66 +164,79 @@ public class OnboardingWorkflowImpl implements OnboardingWorkflow {
         updateProgress();
         
         logger.info("Executing email step {} ({}) for customer: {}", 
-                   stepNumber, emailTemplateId, input.customer().email());
+                   stepNumber, emailTemplateId, customerLabel());
         
         try {
             // Check conditions before sending email
             if (!conditions.isEmpty()) {
+                // Executions recorded before the customer id was passed failed every conditional step here
+                java.util.UUID conditionCustomerId = Workflow.getVersion(CONDITIONS_BY_CUSTOMER_ID_CHANGE,
+                        Workflow.DEFAULT_VERSION, 1) == Workflow.DEFAULT_VERSION
+                    ? java.util.UUID.fromString(input.customer().email())
+                    : input.customerId();
                 ConditionCheckInput conditionInput = new ConditionCheckInput(
-                    java.util.UUID.fromString(input.customer().email()), // Using email as UUID for now
-                    input.customer().email(),
+                    conditionCustomerId,
+                    input.progressId(),
+                    input.customer() != null ? input.customer().email() : null,
                     conditions,
                     input.workflowId(),
                     stepNumber
                 );
                 
-                boolean conditionsMet = emailActivities.checkEmailConditions(conditionInput);
+                boolean conditionsMet = dataActivities.checkEmailConditions(conditionInput);
                 if (!conditionsMet) {
                     logger.info("Conditions not met for step {}, skipping email", stepNumber);
                     return;
                 }
             }
             
-            // Create send email input
-            SendEmailInput sendInput = SendEmailInput.create(
-                java.util.UUID.randomUUID(), // Customer UUID - will be properly set in Phase 5
-                input.customer().email(),
-                input.customer().firstName(),
-                input.customer().lastName(),
-                input.customer().companyName(),
-                emailTemplateId,
-                stepNumber,
-                input.workflowId(),
-                java.util.Map.of() // Additional template variables
-            );
+            // Executions whose input embeds the customer keep passing it; others pass only the ids
+            SendEmailInput sendInput = input.customer() == null
+                ? SendEmailInput.create(
+                    customerId(),
+                    input.progressId(),
+                    emailTemplateId,
+                    stepNumber,
+                    input.workflowId())
+                : SendEmailInput.embedded(
+                    customerId(),
+                    input.customer().email(),
+                    input.customer().firstName(),
+                    input.customer().lastName(),
+                    input.customer().companyName(),
+                    emailTemplateId,
+                    stepNumber,
+                    input.workflowId());
             
             // Send the email
-            emailActivities.sendEmail(sendInput);
+            sendActivities.sendEmail(sendInput);
             
             // Log the email event
             EmailEventInput eventInput = EmailEventInput.sent(
-                java.util.UUID.randomUUID(), // Customer UUID
+                customerId(),
+                input.progressId(),
                 input.workflowId(),
                 emailTemplateId,
                 stepNumber
             );
             
-            emailActivities.logEmailEvent(eventInput);
+            eventActivities.logEmailEvent(eventInput);
             
         } catch (Exception e) {
             logger.error("Failed to send email step {} for customer: {}", 
-                        stepNumber, input.customer().email(), e);
+                        stepNumber, customerLabel(), e);
             
             // Log the failure event
             try {
                 EmailEventInput eventInput = EmailEventInput.failed(
-                    java.util.UUID.randomUUID(), // Customer UUID
+                    customerId(),
+                    input.progressId(),
                     input.workflowId(),
                     emailTemplateId,
                     stepNumber,
                     e.getMessage()
                 );
-                emailActivities.logEmailEvent(eventInput);
+                eventActivities.logEmailEvent(eventInput);
             } catch (Exception logError) {
                 logger.error("Failed to log email failure event", logError);
             }
@@ -199,6 +245,25 @@ public class OnboardingWorkflowImpl implements OnboardingWorkflow {
         }
     }
     
+    // For log lines: the email where the input embeds the customer, otherwise the customer id
+    private String customerLabel() {
+        return input.customer() != null ? input.customer().email() : String.valueOf(input.customerId());
+    }
+    
+    private java.util.UUID customerId() {
+        return input.customerId() != null ? input.customerId() : placeholderCustomerId();
+    }
+    
+    // Executions started before the starter passed the customer id
+    private java.util.UUID placeholderCustomerId() {
+        // Workflow.randomUUID draws from the seed that also generates activity ids, so switching to it
+        // shifts the ids of later activities; histories recorded before the change keep UUID.randomUUID
+        if (Workflow.getVersion(DETERMINISTIC_IDS_CHANGE, Workflow.DEFAULT_VERSION, 1) == Workflow.DEFAULT_VERSION) {
+            return java.util.UUID.randomUUID();
+        }
+        return Workflow.randomUUID();
+    }
+    
     private boolean shouldContinue() {
         // Handle pause signal
         Workflow.await(() -> !paused || cancelled || userConverted);
@@ -208,9 +273,22 @@ public class OnboardingWorkflowImpl implements OnboardingWorkflow {
     }
     
     private void updateProgress() {
+        // Workflows started before progress was persisted replay without the activity call
+        if (Workflow.getVersion(PERSIST_PROGRESS_CHANGE, Workflow.DEFAULT_VERSION, 1) == Workflow.DEFAULT_VERSION) {
+            return;
+        }
         try {
-            // This will be implemented in Phase 4
-            // emailActivities.updateOnboardingProgress(createProgressUpdate());
+            LocalDateTime now = workflowNow();
+            dataActivities.updateOnboardingProgress(new ProgressUpdateInput(
+                input.customerId(),
+                input.progressId(),
+                input.workflowId(),
+                status,
+                currentStep,
+                now,
+                completedAt,
+                new HashMap<>(workflowMetadata)
+            ));
             
             logger.debug("Progress updated for workflow: {} - Step: {}, Status: {}", 
                         input.workflowId(), currentStep, status);
@@ -222,7 +300,7 @@ public class OnboardingWorkflowImpl implements OnboardingWorkflow {
 
     @Override
     public void pauseOnboarding() {
-        logger.info("Pausing onboarding for customer: {}", input.customer().email());
+        logger.info("Pausing onboarding for customer: {}", customerLabel());
         this.paused = true;
         this.status = OnboardingStatus.PAUSED;
         updateProgress();
@@ -230,7 +308,7 @@ public class OnboardingWorkflowImpl implements OnboardingWorkflow {
 
     @Override
     public void resumeOnboarding() {
-        logger.info("Resuming onboarding for customer: {}", input.customer().email());
+        logger.info("Resuming onboarding for customer: {}", customerLabel());
         this.paused = false;
         this.status = OnboardingStatus.IN_PROGRESS;
         updateProgress();
@@ -238,39 +316,57 @@ public class OnboardingWorkflowImpl implements OnboardingWorkflow {
 
     @Override
     public void cancelOnboarding() {
-        logger.info("Cancelling onboarding for customer: {}", input.customer().email());
+        logger.info("Cancelling onboarding for customer: {}", customerLabel());
         this.cancelled = true;
         this.status = OnboardingStatus.CANCELLED;
         updateProgress();
     }
 
     @Override
-    public void markUserAsActive() {
-        logger.info("User marked as active: {}", input.customer().email());
+    public void markUserAsActive(Instant activeAt) {
+        // Only the first activity changes state; repeats are no-ops
+        if (userActive) {
+            return;
+        }
+        logger.info("User marked as active: {}", customerLabel());
         this.userActive = true;
-        workflowMetadata.put("userActivatedAt", LocalDateTime.now().toString());
+        workflowMetadata.put("userActivatedAt", signalTime(activeAt).toString());
     }
 
     @Override
-    public void markUserAsConverted() {
-        logger.info("User converted: {}", input.customer().email());
+    public void markUserAsConverted(Instant convertedAt) {
+        // Duplicate conversions used to persist progress again; keep that for histories recorded before the check
+        if (userConverted && Workflow.getVersion(IDEMPOTENT_CONVERSION_CHANGE, Workflow.DEFAULT_VERSION, 1) == 1) {
+            return;
+        }
+        logger.info("User converted: {}", customerLabel());
         this.userConverted = true;
         this.status = OnboardingStatus.CONVERTED;
-        this.completedAt = LocalDateTime.now();
+        this.completedAt = signalTime(convertedAt);
         workflowMetadata.put("convertedAt", completedAt.toString());
         updateProgress();
     }
+    
+    private LocalDateTime signalTime(Instant sentAt) {
+        return sentAt != null ? LocalDateTime.ofInstant(sentAt, ZoneOffset.UTC) : workflowNow();
+    }
+    
+    // Workflow time is recorded in history; the system clock would differ between execution and replay.
+    // UTC, like ProgressUpdateInput, since the worker that reads it may run in another zone
+    private LocalDateTime workflowNow() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(Workflow.currentTimeMillis()), ZoneOffset.UTC);
+    }
 
     @Override
     public OnboardingProgressInfo getProgress() {
         return new OnboardingProgressInfo(
-            null, // ID will be set by the database
-            input.customer().email(), // Using email as customer identifier for now
+            input.progressId() != null ? input.progressId().toString() : null,
+            input.customerId() != null ? input.customerId().toString() : input.customer().email(),
             input.sequenceId().toString(),
             input.workflowId(),
             status,
             currentStep,
-            input.startedAt().atZone(ZoneId.systemDefault()).toLocalDateTime(),
+            LocalDateTime.ofInstant(input.startedAt(), ZoneOffset.UTC),
             completedAt,
             Map.copyOf(workflowMetadata)
         );
@@ -1,29 +1,39 @@
 package com.hooswhere.onboardFlow.temporal;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.hooswhere.onboardFlow.models.CustomerRequest;
 
 import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 
+// New executions carry only keys (customerId, progressId): activities load the customer by id and
+// the request metadata is stored on the progress row, so customer and metadata are null. Those two
+// legacy fields are still read for executions that embedded them; the oldest of those also have
+// null customerId and progressId.
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record OnboardingWorkflowInput(
     CustomerRequest customer,
+    UUID customerId,
+    UUID progressId,
     UUID sequenceId,
     String workflowId,
     Instant startedAt,
     Map<String, Object> metadata
 ) {
     public static OnboardingWorkflowInput create(
-            CustomerRequest customer,
+            UUID customerId,
+            UUID progressId,
             UUID sequenceId,
-            String workflowId,
-            Map<String, Object> metadata) {
+            String workflowId) {
         return new OnboardingWorkflowInput(
-                customer,
+                null,
+                customerId,
+                progressId,
                 sequenceId,
                 workflowId,
                 Instant.now(),
-                metadata != null ? metadata : Map.of()
+                null
         );
     }
-}
\ No newline at end of file
+}
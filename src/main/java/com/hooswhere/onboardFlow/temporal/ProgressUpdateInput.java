@@ -3,30 +3,36 @@ package com.hooswhere.onboardFlow.temporal;
 import com.hooswhere.onboardFlow.OnboardingStatus;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Map;
 import java.util.UUID;
 
 public record ProgressUpdateInput(
     UUID customerId,
+    // Primary key of the onboarding_progress row; null for executions started before it was passed
+    UUID progressId,
     String workflowId,
     OnboardingStatus status,
     int currentStep,
+    // Times are UTC, so the workflow and the activity agree whatever zone their workers run in
     LocalDateTime lastActivityAt,
     LocalDateTime completedAt,
     Map<String, Object> metadata
 ) {
     public static ProgressUpdateInput create(
             UUID customerId,
+            UUID progressId,
             String workflowId,
             OnboardingStatus status,
             int currentStep,
             Map<String, Object> metadata) {
         return new ProgressUpdateInput(
                 customerId,
+                progressId,
                 workflowId,
                 status,
                 currentStep,
-                LocalDateTime.now(),
+                LocalDateTime.now(ZoneOffset.UTC),
                 null,
                 metadata
         );
@@ -34,13 +40,15 @@ public record ProgressUpdateInput(
     
     public static ProgressUpdateInput completed(
             UUID customerId,
+            UUID progressId,
             String workflowId,
             OnboardingStatus status,
             int currentStep,
             Map<String, Object> metadata) {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
         return new ProgressUpdateInput(
                 customerId,
+                progressId,
                 workflowId,
                 status,
                 currentStep,
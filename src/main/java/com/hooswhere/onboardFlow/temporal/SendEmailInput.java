@@ -1,10 +1,16 @@
 package com.hooswhere.onboardFlow.temporal;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.Map;
 import java.util.UUID;
 
+// The customer fields are only set for executions whose input embeds the customer; otherwise
+// the activity loads the customer by id
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record SendEmailInput(
     UUID customerId,
+    UUID progressId,
     String customerEmail,
     String customerFirstName,
     String customerLastName,
@@ -15,6 +21,26 @@ public record SendEmailInput(
     Map<String, Object> templateVariables
 ) {
     public static SendEmailInput create(
+            UUID customerId,
+            UUID progressId,
+            String emailTemplateId,
+            int stepNumber,
+            String workflowId) {
+        return new SendEmailInput(
+                customerId,
+                progressId,
+                null,
+                null,
+                null,
+                null,
+                emailTemplateId,
+                stepNumber,
+                workflowId,
+                null
+        );
+    }
+    
+    public static SendEmailInput embedded(
             UUID customerId,
             String customerEmail,
             String customerFirstName,
@@ -22,10 +48,10 @@ public record SendEmailInput(
             String companyName,
             String emailTemplateId,
             int stepNumber,
-            String workflowId,
-            Map<String, Object> templateVariables) {
+            String workflowId) {
         return new SendEmailInput(
                 customerId,
+                null,
                 customerEmail,
                 customerFirstName,
                 customerLastName,
@@ -33,7 +59,7 @@ public record SendEmailInput(
                 emailTemplateId,
                 stepNumber,
                 workflowId,
-                templateVariables != null ? templateVariables : Map.of()
+                Map.of()
         );
     }
-}
\ No newline at end of file
+}
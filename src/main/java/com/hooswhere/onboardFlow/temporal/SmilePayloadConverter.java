@@ -0,0 +1,57 @@
+package com.hooswhere.onboardFlow.temporal;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.protobuf.ByteString;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.common.converter.DataConverterException;
+import io.temporal.common.converter.EncodingKeys;
+import io.temporal.common.converter.JacksonJsonPayloadConverter;
+import io.temporal.common.converter.PayloadConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Optional;
+
+/**
+ * Encodes values as Smile, Jackson's binary form of JSON, under the {@code binary/smile} encoding.
+ * Uses the same mapper settings as the SDK's JSON converter, so values round-trip the same way.
+ */
+public class SmilePayloadConverter implements PayloadConverter {
+    public static final String ENCODING = "binary/smile";
+    private static final ByteString ENCODING_BYTES = ByteString.copyFromUtf8(ENCODING);
+
+    private final ObjectMapper mapper;
+
+    public SmilePayloadConverter() {
+        this.mapper = JacksonJsonPayloadConverter.newDefaultObjectMapper().copyWith(new SmileFactory());
+    }
+
+    @Override
+    public String getEncodingType() {
+        return ENCODING;
+    }
+
+    @Override
+    public Optional<Payload> toData(Object value) throws DataConverterException {
+        try {
+            return Optional.of(Payload.newBuilder()
+                    .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, ENCODING_BYTES)
+                    .setData(ByteString.copyFrom(mapper.writeValueAsBytes(value)))
+                    .build());
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    @Override
+    public <T> T fromData(Payload content, Class<T> valueClass, Type valueType) throws DataConverterException {
+        try {
+            JavaType type = mapper.getTypeFactory().constructType(valueType);
+            return mapper.readValue(content.getData().newInput(), type);
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+}
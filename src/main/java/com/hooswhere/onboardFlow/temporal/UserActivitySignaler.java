@@ -0,0 +1,205 @@
+package com.hooswhere.onboardFlow.temporal;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.hooswhere.onboardFlow.config.Roles;
+import com.hooswhere.onboardFlow.config.UserActionProps;
+import com.hooswhere.onboardFlow.entity.OnboardingProgressEntity;
+import com.hooswhere.onboardFlow.service.OnboardingService;
+import com.hooswhere.onboardFlow.service.UserActionService;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns ingested user actions into onboarding workflow signals. Ingestion folds events per customer
+ * into user_activity_signals, and this signaler drains that table once per window, so a burst of
+ * activity from one customer becomes a single signal to each of their active workflows instead of
+ * one history event per action. A row is only deleted once every workflow has been signalled;
+ * failed signals are retried with backoff, and rows claimed by a pod that died are claimed again.
+ * Workflows that already received the signal are remembered and skipped, since the workflow only
+ * acts on the first one.
+ */
+@Component
+@Profile({Roles.API, Roles.ALL})
+public class UserActivitySignaler implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(UserActivitySignaler.class);
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private final WorkflowClient workflowClient;
+    private final OnboardingService onboardingService;
+    private final UserActionService userActionService;
+    private final UserActionProps props;
+    private final RateLimiter signalRateLimiter;
+    // workflowId -> strongest signal already delivered
+    private final Cache<String, SignalKind> delivered;
+
+    private ScheduledExecutorService flusher;
+    private ExecutorService senders;
+    private volatile boolean running = false;
+
+    public UserActivitySignaler(WorkflowClient workflowClient, OnboardingService onboardingService,
+                                UserActionService userActionService, UserActionProps props) {
+        this.workflowClient = workflowClient;
+        this.onboardingService = onboardingService;
+        this.userActionService = userActionService;
+        this.props = props;
+        this.signalRateLimiter = RateLimiter.create(props.maxSignalsPerSecond());
+        this.delivered = CacheBuilder.newBuilder()
+                .expireAfterWrite(props.signalDedupTtl())
+                .maximumSize(props.signalDedupMaxEntries())
+                .build();
+    }
+
+    private enum SignalKind {
+        ACTIVE,
+        CONVERTED
+    }
+
+    @Override
+    public void start() {
+        senders = Executors.newFixedThreadPool(props.signalParallelism(),
+                new ThreadFactoryBuilder().setNameFormat("activity-signal-sender-%d").setDaemon(true).build());
+        flusher = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("activity-signal-flusher-%d").setDaemon(true).build());
+        long windowMillis = props.signalWindow().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushSafely, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher == null) {
+            return;
+        }
+        // Signals not completed stay in user_activity_signals and are claimed again after the claim timeout
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        senders.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushSafely() {
+        try {
+            List<UserActionService.PendingSignal> batch;
+            do {
+                batch = userActionService.claimSignals(props.signalBatchSize(), props.signalClaimTimeout());
+                flush(batch);
+            } while (batch.size() == props.signalBatchSize() && running);
+        } catch (Exception e) {
+            logger.error("Failed to flush user activity signals", e);
+        }
+    }
+
+    private void flush(List<UserActionService.PendingSignal> batch) throws InterruptedException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<UUID, UserActionService.PendingSignal> byCustomer = new HashMap<>();
+        for (UserActionService.PendingSignal signal : batch) {
+            byCustomer.put(signal.customerId(), signal);
+        }
+
+        Map<UUID, List<CompletableFuture<Boolean>>> sends = new HashMap<>();
+        int deduplicated = 0;
+        for (List<UUID> chunk : Iterables.partition(new ArrayList<>(byCustomer.keySet()), LOOKUP_CHUNK_SIZE)) {
+            for (OnboardingProgressEntity onboarding : onboardingService.findActiveOnboardings(chunk)) {
+                UserActionService.PendingSignal signal = byCustomer.get(onboarding.getCustomerId());
+                SignalKind kind = signal.convertedAt() != null ? SignalKind.CONVERTED : SignalKind.ACTIVE;
+                if (alreadyDelivered(onboarding.getWorkflowId(), kind)) {
+                    deduplicated++;
+                    continue;
+                }
+                signalRateLimiter.acquire();
+                sends.computeIfAbsent(signal.customerId(), id -> new ArrayList<>()).add(CompletableFuture.supplyAsync(
+                        () -> signal(onboarding.getWorkflowId(), kind, signal), senders));
+            }
+        }
+
+        int failed = 0;
+        for (UserActionService.PendingSignal signal : batch) {
+            boolean succeeded = true;
+            for (CompletableFuture<Boolean> send : sends.getOrDefault(signal.customerId(), List.of())) {
+                succeeded &= awaitQuietly(send);
+            }
+            if (succeeded) {
+                userActionService.completeSignal(signal);
+            } else {
+                failed++;
+                userActionService.retrySignal(signal, retryDelay(signal.attempts()));
+            }
+        }
+        logger.debug("Flushed activity window: {} customers, {} signals, {} already delivered, {} customers to retry",
+                batch.size(), sends.values().stream().mapToInt(List::size).sum(), deduplicated, failed);
+    }
+
+    private Duration retryDelay(int attempts) {
+        Duration delay = props.signalRetryDelay().multipliedBy(attempts);
+        return delay.compareTo(props.signalMaxRetryDelay()) > 0 ? props.signalMaxRetryDelay() : delay;
+    }
+
+    private static boolean awaitQuietly(CompletableFuture<Boolean> send) throws InterruptedException {
+        try {
+            return send.get();
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    private boolean alreadyDelivered(String workflowId, SignalKind kind) {
+        SignalKind previous = delivered.getIfPresent(workflowId);
+        // A conversion still has to go to a workflow that was only told about activity
+        return previous != null && previous.compareTo(kind) >= 0;
+    }
+
+    /**
+     * Returns false if the signal should be retried.
+     */
+    private boolean signal(String workflowId, SignalKind kind, UserActionService.PendingSignal signal) {
+        try {
+            OnboardingWorkflow workflow = workflowClient.newWorkflowStub(OnboardingWorkflow.class, workflowId);
+            if (kind == SignalKind.CONVERTED) {
+                workflow.markUserAsConverted(signal.convertedAt());
+            } else {
+                workflow.markUserAsActive(signal.activeAt());
+            }
+            delivered.put(workflowId, kind);
+            return true;
+        } catch (WorkflowNotFoundException e) {
+            logger.debug("Workflow {} closed before activity signal", workflowId);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to signal user activity to workflow {}", workflowId, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+-- Default templates and sequences, loaded by DefaultDataSeeder once the application is ready.
+-- Every statement is idempotent so any number of pods can run it concurrently.
+
+-- Default templates, only into an empty table
+INSERT INTO email_templates (slug, name, subject, html_body, text_body)
+SELECT v.slug, v.name, v.subject, v.html_body, v.text_body
+FROM (VALUES
+    ('welcome', 'Welcome Email', 'Welcome to {{companyName}}, {{firstName}}!',
+'<html>
+<body>
+    <h1>Welcome {{firstName}}!</h1>
+    <p>We''re excited to have you join {{companyName}}.</p>
+    <p>Your journey starts now. Let''s get you set up!</p>
+    <p>Best regards,<br>The {{companyName}} Team</p>
+</body>
+</html>
+',
+'Welcome {{firstName}}!
+
+We''re excited to have you join {{companyName}}.
+Your journey starts now. Let''s get you set up!
+
+Best regards,
+The {{companyName}} Team
+'),
+    ('getting-started', 'Getting Started Email', 'Get started with {{companyName}}',
+'<html>
+<body>
+    <h1>Let''s get you started, {{firstName}}!</h1>
+    <p>It''s been 24 hours since you joined us. Here are the first steps:</p>
+    <ul>
+        <li>Complete your profile setup</li>
+        <li>Explore our key features</li>
+        <li>Connect with our community</li>
+    </ul>
+    <p>Need help? We''re here for you!</p>
+</body>
+</html>
+',
+'Let''s get you started, {{firstName}}!
+
+It''s been 24 hours since you joined us. Here are the first steps:
+- Complete your profile setup
+- Explore our key features
+- Connect with our community
+
+Need help? We''re here for you!
+'),
+    ('feature-highlight', 'Feature Highlight Email', 'Discover what makes {{companyName}} special',
+'<html>
+<body>
+    <h1>{{firstName}}, check out this amazing feature!</h1>
+    <p>We noticed you haven''t been active lately. Here''s something that might interest you:</p>
+    <p>Our advanced analytics dashboard can help you track your progress and achieve your goals faster.</p>
+    <p>Give it a try today!</p>
+</body>
+</html>
+',
+'{{firstName}}, check out this amazing feature!
+
+We noticed you haven''t been active lately. Here''s something that might interest you:
+
+Our advanced analytics dashboard can help you track your progress and achieve your goals faster.
+
+Give it a try today!
+'),
+    ('trial-welcome', 'Trial Welcome Email', 'Your {{companyName}} trial starts now!',
+'<html>
+<body>
+    <h1>Welcome to your free trial, {{firstName}}!</h1>
+    <p>You have 14 days to explore everything {{companyName}} has to offer.</p>
+    <p>Make the most of your trial period!</p>
+</body>
+</html>
+',
+'Welcome to your free trial, {{firstName}}!
+
+You have 14 days to explore everything {{companyName}} has to offer.
+Make the most of your trial period!
+')
+) AS v(slug, name, subject, html_body, text_body)
+WHERE NOT EXISTS (SELECT 1 FROM email_templates)
+ON CONFLICT (slug) DO NOTHING;
+
+-- Default sequences, only into an empty table. Ids are derived from the name so that
+-- concurrent seeders collide on the primary key instead of creating duplicates.
+INSERT INTO email_sequences (id, name, description, is_active, max_duration_days)
+SELECT md5('onboard-flow:sequence:' || v.name)::uuid, v.name, v.description, true, v.max_duration_days
+FROM (VALUES
+    ('default-saas-sequence', 'Default SaaS Onboarding Sequence', 45),
+    ('trial-sequence', 'Free Trial Email Sequence', 21)
+) AS v(name, description, max_duration_days)
+WHERE NOT EXISTS (SELECT 1 FROM email_sequences)
+ON CONFLICT (id) DO NOTHING;
+
+-- Steps of the seeded sequences that have none yet. Steps whose template does not exist are skipped.
+INSERT INTO email_steps (id, sequence_id, step_order, email_template_id, delay_from_start_seconds, send_conditions)
+SELECT md5('onboard-flow:step:' || v.sequence_name || ':' || v.step_order)::uuid,
+       s.id, v.step_order, t.id, v.delay_seconds, v.send_conditions::jsonb
+FROM (VALUES
+    ('default-saas-sequence', 1, 'welcome', 0, '[]'),
+    ('default-saas-sequence', 2, 'getting-started', 86400, '["user_not_active"]'),
+    ('default-saas-sequence', 3, 'feature-highlight', 259200, '["user_not_active", "email_not_opened"]'),
+    ('default-saas-sequence', 4, 'check-in', 604800, '["user_not_converted"]'),
+    ('default-saas-sequence', 5, 'conversion-push', 1209600, '["user_not_converted"]'),
+    ('default-saas-sequence', 6, 'final-engagement', 2592000, '["user_not_converted"]'),
+    ('trial-sequence', 1, 'trial-welcome', 0, '[]'),
+    ('trial-sequence', 2, 'trial-day-3', 259200, '["user_not_active"]'),
+    ('trial-sequence', 3, 'trial-day-7', 604800, '["user_not_converted"]'),
+    ('trial-sequence', 4, 'trial-expiring-soon', 1036800, '["user_not_converted"]'),
+    ('trial-sequence', 5, 'trial-expired', 1296000, '["user_not_converted"]')
+) AS v(sequence_name, step_order, template_slug, delay_seconds, send_conditions)
+JOIN email_sequences s ON s.id = md5('onboard-flow:sequence:' || v.sequence_name)::uuid
+JOIN email_templates t ON t.slug = v.template_slug
+WHERE NOT EXISTS (SELECT 1 FROM email_steps e WHERE e.sequence_id = s.id)
+ON CONFLICT (id) DO NOTHING;
@@ -81,13 +81,108 @@ CREATE TABLE IF NOT EXISTS user_actions (
     occurred_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Activity and conversions waiting to be signalled to onboarding workflows, folded per customer.
+-- Written with the user_actions rows, deleted once every active onboarding has been signalled
+CREATE TABLE IF NOT EXISTS user_activity_signals (
+    customer_id UUID PRIMARY KEY REFERENCES customers(id) ON DELETE CASCADE,
+    active_at TIMESTAMP WITH TIME ZONE, -- earliest login or feature use not yet signalled
+    converted_at TIMESTAMP WITH TIME ZONE, -- earliest conversion not yet signalled
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Outbound email queue, drained by the send dispatcher
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    workflow_id VARCHAR(255) NOT NULL,
+    step_number INTEGER NOT NULL,
+    customer_id UUID,
+    email_template_id VARCHAR(100) NOT NULL,
+    to_email VARCHAR(255) NOT NULL,
+    to_name VARCHAR(255),
+    subject TEXT NOT NULL,
+    html_body TEXT,
+    text_body TEXT,
+    email_tags JSONB,
+    trace_context JSONB, -- W3C trace headers of the enqueuing activity, so the SES span joins its trace
+    task_token BYTEA NOT NULL, -- Temporal task token of the sendEmail activity to complete
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING', -- PENDING, SENDING, SENT, SKIPPED, FAILED
+    message_id VARCHAR(255),
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    claimed_at TIMESTAMP WITH TIME ZONE,
+    next_attempt_at TIMESTAMP WITH TIME ZONE, -- set while another message holds the step's ledger reservation
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+
+ALTER TABLE email_outbox ADD COLUMN IF NOT EXISTS trace_context JSONB;
+ALTER TABLE email_outbox ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP WITH TIME ZONE;
+
+-- Accepted start requests, drained into Temporal by the intake starter
+CREATE TABLE IF NOT EXISTS onboarding_intake (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    customer_email VARCHAR(255) NOT NULL,
+    request JSONB NOT NULL, -- the StartOnboardingRequest as received
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING', -- PENDING, STARTING, STARTED, REJECTED, FAILED
+    attempts INTEGER NOT NULL DEFAULT 0,
+    workflow_id VARCHAR(255),
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    next_attempt_at TIMESTAMP WITH TIME ZONE,
+    claimed_at TIMESTAMP WITH TIME ZONE,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Idempotency ledger: at most one SES send per workflow step
+CREATE TABLE IF NOT EXISTS email_send_ledger (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    workflow_id VARCHAR(255) NOT NULL,
+    step_number INTEGER NOT NULL,
+    outbox_id UUID,
+    status VARCHAR(20) NOT NULL, -- SENDING, SENT, UNKNOWN
+    message_id VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Outcomes of requests sent with an Idempotency-Key header, replayed for retries of the same key
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL, -- SHA-256 of the request body, to refuse a key reused for another request
+    status VARCHAR(20) NOT NULL, -- IN_PROGRESS, COMPLETED, FAILED
+    response_status INTEGER,
+    response_body JSONB,
+    response_location VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+
 -- Indexes
 CREATE INDEX IF NOT EXISTS idx_customers_email ON customers(email);
 CREATE INDEX IF NOT EXISTS idx_onboarding_progress_customer_id ON onboarding_progress(customer_id);
 CREATE INDEX IF NOT EXISTS idx_onboarding_progress_workflow_id ON onboarding_progress(workflow_id);
+-- Covering indexes for the onboarding list API: keyset order (started_at DESC, id DESC), optionally
+-- behind a status or sequence filter, with the listed columns INCLUDEd for index-only scans
+CREATE INDEX IF NOT EXISTS idx_onboarding_progress_started_id ON onboarding_progress(started_at DESC, id DESC)
+    INCLUDE (workflow_id, customer_id, sequence_id, status, current_step, completed_at);
+CREATE INDEX IF NOT EXISTS idx_onboarding_progress_status_started_id ON onboarding_progress(status, started_at DESC, id DESC)
+    INCLUDE (workflow_id, customer_id, sequence_id, current_step, completed_at);
+CREATE INDEX IF NOT EXISTS idx_onboarding_progress_sequence_started_id ON onboarding_progress(sequence_id, started_at DESC, id DESC)
+    INCLUDE (workflow_id, customer_id, status, current_step, completed_at);
 CREATE INDEX IF NOT EXISTS idx_email_events_customer_id ON email_events(customer_id);
 CREATE INDEX IF NOT EXISTS idx_user_actions_customer_id ON user_actions(customer_id);
+-- Send-condition checks look up events and actions by progress row and customer
+CREATE INDEX IF NOT EXISTS idx_email_events_progress_type ON email_events(onboarding_progress_id, event_type);
+CREATE INDEX IF NOT EXISTS idx_user_actions_customer_type_occurred ON user_actions(customer_id, action_type, occurred_at);
 CREATE INDEX IF NOT EXISTS idx_email_steps_sequence_id ON email_steps(sequence_id);
 CREATE INDEX IF NOT EXISTS idx_email_templates_active ON email_templates(is_active);
 CREATE INDEX IF NOT EXISTS idx_email_templates_name ON email_templates(name);
-CREATE INDEX IF NOT EXISTS idx_email_templates_slug ON email_templates(slug);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_email_templates_slug ON email_templates(slug);
+CREATE INDEX IF NOT EXISTS idx_email_templates_created_at_id ON email_templates(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_email_sequences_created_at_id ON email_sequences(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_user_activity_signals_next_attempt ON user_activity_signals(next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_email_outbox_claimable ON email_outbox(created_at) WHERE status IN ('PENDING', 'SENDING');
+CREATE INDEX IF NOT EXISTS idx_onboarding_intake_claimable ON onboarding_intake(created_at) WHERE status IN ('PENDING', 'STARTING');
+CREATE UNIQUE INDEX IF NOT EXISTS idx_email_send_ledger_workflow_step ON email_send_ledger(workflow_id, step_number);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_idempotency_keys_key ON idempotency_keys(idempotency_key);
\ No newline at end of file
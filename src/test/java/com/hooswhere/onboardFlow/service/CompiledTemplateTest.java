@@ -0,0 +1,151 @@
+package com.hooswhere.onboardFlow.service;
+
+import com.hooswhere.onboardFlow.models.EmailTemplateContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks {@link CompiledTemplate} with slot-based {@link EmailTemplateContext}s against the regex
+ * renderer over a variables map that it replaced, including the cases where slots and the map could
+ * disagree: overriding well-known names, currentStep set both ways and reused builders.
+ */
+class CompiledTemplateTest {
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{\\{([^}]+)\\}\\}");
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "No placeholders at all",
+            "{{firstName}}",
+            "Hi {{firstName}} {{lastName}} <{{email}}> from {{companyName}}",
+            "{{fullName}}{{workflowId}}{{currentStep}}",
+            "Step {{ currentStep }} for {{  firstName\t}}",
+            "Plan {{plan}}, missing [{{unknown}}], {{ email }}",
+            "Unclosed {{firstName and {single} braces }}",
+            "{{firstName}}{{firstName}}{{plan}}{{plan}}"
+    })
+    void matchesRegexRenderer(String template) {
+        Map<String, Object> custom = Map.of("plan", "Pro $5 \\ month");
+        EmailTemplateContext context = EmailTemplateContext.builder()
+                .customer("Ada", "Lovelace", "ada@example.com", "Analytical")
+                .workflow("onboarding-1", 3)
+                .putAll(custom)
+                .build();
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("firstName", "Ada");
+        variables.put("lastName", "Lovelace");
+        variables.put("email", "ada@example.com");
+        variables.put("companyName", "Analytical");
+        variables.put("fullName", "Ada Lovelace");
+        variables.put("workflowId", "onboarding-1");
+        variables.put("currentStep", 3);
+        variables.putAll(custom);
+
+        assertEquals(regexRender(template, variables), render(template, context));
+    }
+
+    @Test
+    void templateWithoutPlaceholdersRendersUnchanged() {
+        String template = "Welcome aboard, nothing to fill in.";
+        assertEquals(template, render(template, EmailTemplateContext.builder().build()));
+    }
+
+    @Test
+    void missingVariablesRenderEmpty() {
+        EmailTemplateContext context = EmailTemplateContext.builder().put("plan", "Pro").build();
+        assertEquals("Hi , plan Pro, step ", render("Hi {{firstName}}, plan {{plan}}, step {{currentStep}}", context));
+    }
+
+    @Test
+    void whitespaceInsidePlaceholderIsIgnored() {
+        EmailTemplateContext context = EmailTemplateContext.builder()
+                .customer("Ada", "Lovelace", "ada@example.com", "Analytical")
+                .put("plan", "Pro")
+                .build();
+        assertEquals("Ada / Pro", render("{{ firstName }} / {{  plan  }}", context));
+    }
+
+    @Test
+    void customVariablesOverrideWellKnownNames() {
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        overrides.put("firstName", "Countess");
+        overrides.put("companyName", null);
+        EmailTemplateContext context = EmailTemplateContext.builder()
+                .customer("Ada", "Lovelace", "ada@example.com", "Analytical")
+                .putAll(overrides)
+                .put("email", "countess@example.com")
+                .build();
+        assertEquals("Countess Lovelace <countess@example.com> at ",
+                render("{{firstName}} {{lastName}} <{{email}}> at {{companyName}}", context));
+    }
+
+    @Test
+    void laterWriteOfCurrentStepWins() {
+        String template = "step {{currentStep}}";
+        assertEquals("step 2", render(template, EmailTemplateContext.builder()
+                .put("currentStep", "custom")
+                .workflow("onboarding-1", 2)
+                .build()));
+        assertEquals("step custom", render(template, EmailTemplateContext.builder()
+                .workflow("onboarding-1", 2)
+                .put("currentStep", "custom")
+                .build()));
+        assertEquals("step ", render(template, EmailTemplateContext.builder()
+                .workflow("onboarding-1", 2)
+                .put("currentStep", null)
+                .build()));
+        assertEquals(2, EmailTemplateContext.builder().workflow("onboarding-1", 2).build().get("currentStep"));
+    }
+
+    @Test
+    void reusedBuilderDoesNotChangeBuiltContexts() {
+        EmailTemplateContext.Builder builder = EmailTemplateContext.builder()
+                .customer("Ada", "Lovelace", "ada@example.com", "Analytical")
+                .workflow("onboarding-1", 1)
+                .put("plan", "Pro");
+        EmailTemplateContext first = builder.build();
+
+        builder.put("firstName", "Grace").workflow("onboarding-2", 5).put("plan", "Team");
+        EmailTemplateContext second = builder.build();
+
+        String template = "{{firstName}} {{workflowId}} {{currentStep}} {{plan}}";
+        assertEquals("Ada onboarding-1 1 Pro", render(template, first));
+        assertEquals("Grace onboarding-2 5 Team", render(template, second));
+    }
+
+    @Test
+    void emptyContextBuilderStaysIndependent() {
+        EmailTemplateContext.Builder builder = EmailTemplateContext.builder();
+        EmailTemplateContext empty = builder.build();
+        builder.put("firstName", "Ada");
+
+        assertEquals("[]", render("[{{firstName}}]", empty));
+        assertEquals("[Ada]", render("[{{firstName}}]", builder.build()));
+    }
+
+    private static String render(String template, EmailTemplateContext context) {
+        return CompiledTemplate.compile(template).render(context);
+    }
+
+    // The renderer CompiledTemplate replaced, over a plain variables map
+    private static String regexRender(String content, Map<String, Object> variables) {
+        Matcher matcher = VARIABLE_PATTERN.matcher(content);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            Object value = variables.get(matcher.group(1).trim());
+            matcher.appendReplacement(result, Matcher.quoteReplacement(value != null ? value.toString() : ""));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
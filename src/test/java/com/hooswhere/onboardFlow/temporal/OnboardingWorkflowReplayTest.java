@@ -0,0 +1,46 @@
+package com.hooswhere.onboardFlow.temporal;
+
+import io.temporal.testing.WorkflowReplayer;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Replays the recorded histories in {@code src/test/resources/histories} against the current
+ * {@link OnboardingWorkflowImpl}. A failure means running executions would hit a non-determinism
+ * error after a deploy; guard the change with {@code Workflow.getVersion} instead.
+ */
+class OnboardingWorkflowReplayTest {
+
+    static Stream<Named<Path>> histories() throws IOException, URISyntaxException {
+        return corpus().stream().map(history -> Named.of(history.getFileName().toString(), history));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("histories")
+    void replaysRecordedHistory(Path history) throws Exception {
+        WorkflowReplayer.replayWorkflowExecution(history.toFile(), OnboardingWorkflowImpl.class);
+    }
+
+    @Test
+    void corpusIsNotEmpty() throws IOException, URISyntaxException {
+        assertFalse(corpus().isEmpty(), "No histories found in src/test/resources/histories");
+    }
+
+    private static List<Path> corpus() throws IOException, URISyntaxException {
+        Path directory = Path.of(OnboardingWorkflowReplayTest.class.getResource("/histories").toURI());
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".json")).sorted().toList();
+        }
+    }
+}